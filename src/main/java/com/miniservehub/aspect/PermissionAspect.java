@@ -2,24 +2,29 @@ package com.miniservehub.aspect;
 
 import com.miniservehub.annotation.RequirePermission;
 import com.miniservehub.annotation.RequireRole;
-import com.miniservehub.entity.User;
 import com.miniservehub.exception.BusinessException;
+import com.miniservehub.security.AuthorityBits;
+import com.miniservehub.security.AuthorityRegistry;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.Set;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * 权限控制切面
+ * 注解按方法预编译为权限位掩码并缓存，鉴权时只做按位运算
  * 
  * @author MiniServeHub Team
  * @version 1.0.0
@@ -30,6 +35,21 @@ public class PermissionAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(PermissionAspect.class);
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    /**
+     * 方法 -> 预编译的权限要求
+     */
+    private final Map<Method, CompiledRequirement> permissionRequirements = new ConcurrentHashMap<>();
+
+    /**
+     * 方法 -> 预编译的角色要求
+     */
+    private final Map<Method, CompiledRequirement> roleRequirements = new ConcurrentHashMap<>();
+
     /**
      * 权限检查切面
      */
@@ -41,38 +61,24 @@ public class PermissionAspect {
             throw new BusinessException("用户未登录");
         }
 
-        String[] requiredPermissions = requirePermission.value();
-        if (requiredPermissions.length == 0) {
+        if (requirePermission.value().length == 0) {
             return;
         }
 
-        // 获取用户权限
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        Set<String> userPermissions = authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toSet());
-
-        // 检查权限
-        boolean hasPermission = false;
-        if (requirePermission.logical() == RequirePermission.Logical.AND) {
-            // 需要所有权限
-            hasPermission = userPermissions.containsAll(Set.of(requiredPermissions));
-        } else {
-            // 需要任一权限
-            hasPermission = Set.of(requiredPermissions).stream()
-                    .anyMatch(userPermissions::contains);
-        }
+        CompiledRequirement requirement = permissionRequirements.computeIfAbsent(methodOf(joinPoint),
+                method -> new CompiledRequirement(authorityRegistry.bitsOf("", requirePermission.value()),
+                        requirePermission.logical() == RequirePermission.Logical.AND));
 
-        if (!hasPermission) {
+        if (!requirement.isSatisfiedBy(authorityRegistry.bitsOf(authentication))) {
             String username = authentication.getName();
             logger.warn("用户 {} 访问 {} 权限不足，需要权限: {}, 用户权限: {}", 
                     username, joinPoint.getSignature().getName(), 
-                    String.join(",", requiredPermissions), 
-                    String.join(",", userPermissions));
+                    String.join(",", requirePermission.value()), 
+                    describeAuthorities(authentication, false));
             throw new BusinessException("权限不足");
         }
 
-        logger.debug("用户 {} 权限检查通过: {}", authentication.getName(), String.join(",", requiredPermissions));
+        logger.debug("用户 {} 权限检查通过: {}", authentication.getName(), String.join(",", requirePermission.value()));
     }
 
     /**
@@ -86,39 +92,48 @@ public class PermissionAspect {
             throw new BusinessException("用户未登录");
         }
 
-        String[] requiredRoles = requireRole.value();
-        if (requiredRoles.length == 0) {
+        if (requireRole.value().length == 0) {
             return;
         }
 
-        // 获取用户角色
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        Set<String> userRoles = authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(auth -> auth.startsWith("ROLE_"))
-                .map(auth -> auth.substring(5)) // 移除 "ROLE_" 前缀
-                .collect(Collectors.toSet());
-
-        // 检查角色
-        boolean hasRole = false;
-        if (requireRole.logical() == RequireRole.Logical.AND) {
-            // 需要所有角色
-            hasRole = userRoles.containsAll(Set.of(requiredRoles));
-        } else {
-            // 需要任一角色
-            hasRole = Set.of(requiredRoles).stream()
-                    .anyMatch(userRoles::contains);
-        }
+        CompiledRequirement requirement = roleRequirements.computeIfAbsent(methodOf(joinPoint),
+                method -> new CompiledRequirement(authorityRegistry.bitsOf(ROLE_PREFIX, requireRole.value()),
+                        requireRole.logical() == RequireRole.Logical.AND));
 
-        if (!hasRole) {
+        if (!requirement.isSatisfiedBy(authorityRegistry.bitsOf(authentication))) {
             String username = authentication.getName();
             logger.warn("用户 {} 访问 {} 角色不足，需要角色: {}, 用户角色: {}", 
                     username, joinPoint.getSignature().getName(), 
-                    String.join(",", requiredRoles), 
-                    String.join(",", userRoles));
+                    String.join(",", requireRole.value()), 
+                    describeAuthorities(authentication, true));
             throw new BusinessException("角色权限不足");
         }
 
-        logger.debug("用户 {} 角色检查通过: {}", authentication.getName(), String.join(",", requiredRoles));
+        logger.debug("用户 {} 角色检查通过: {}", authentication.getName(), String.join(",", requireRole.value()));
+    }
+
+    private Method methodOf(JoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+
+    /**
+     * 仅在拒绝时用于日志输出
+     */
+    private String describeAuthorities(Authentication authentication, boolean rolesOnly) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(auth -> !rolesOnly || auth.startsWith(ROLE_PREFIX))
+                .map(auth -> rolesOnly ? auth.substring(ROLE_PREFIX.length()) : auth)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * 预编译的注解要求
+     */
+    private record CompiledRequirement(AuthorityBits mask, boolean requireAll) {
+
+        boolean isSatisfiedBy(AuthorityBits granted) {
+            return requireAll ? granted.containsAll(mask) : granted.containsAny(mask);
+        }
     }
 }
@@ -0,0 +1,42 @@
+package com.miniservehub.common.page;
+
+import java.util.Locale;
+
+/**
+ * 分页总数统计策略
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public enum CountStrategy {
+
+    /**
+     * 每次执行COUNT查询
+     */
+    EXACT,
+
+    /**
+     * 按过滤条件缓存精确总数，用户数据变更后失效
+     */
+    CACHED,
+
+    /**
+     * 使用定期刷新的按状态计数估算，不访问数据库
+     */
+    ESTIMATED,
+
+    /**
+     * 不统计总数，只返回是否有下一页
+     */
+    NONE;
+
+    /**
+     * 解析请求参数（忽略大小写），为空时返回 {@link #EXACT}
+     */
+    public static CountStrategy of(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,70 @@
+package com.miniservehub.common.page;
+
+import com.miniservehub.common.result.ResultCode;
+import com.miniservehub.exception.BusinessException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 键集分页游标
+ * 记录上一页最后一行的排序字段值与ID，编码为对客户端不透明的Base64URL字符串。
+ * 游标同时携带排序字段与方向，翻页时排序参数必须与签发游标时一致
+ * 
+ * @param sortField 排序字段
+ * @param direction 排序方向
+ * @param value 排序字段值（按字段类型解析后的对象），字段为NULL时为null
+ * @param id 最后一行的ID
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public record KeysetCursor(String sortField, Sort.Direction direction, Object value, long id) {
+
+    private static final String VERSION = "1";
+
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * 值为NULL与非NULL的标记，值放在最后，可以包含任意字符
+     */
+    private static final char NULL_MARKER = 'N';
+    private static final char VALUE_MARKER = 'V';
+
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortField + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+                + (value == null ? String.valueOf(NULL_MARKER) : VALUE_MARKER + value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串，并按排序字段对应的解析器还原字段值的类型
+     *
+     * @param cursor 游标字符串
+     * @param valueParsers 排序字段 -> 字段值解析器，不在其中的排序字段视为无效游标
+     * @throws BusinessException 游标格式无效、排序字段不受支持或字段值无法解析
+     */
+    public static KeysetCursor decode(String cursor, Map<String, Function<String, ?>> valueParsers) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || parts[4].isEmpty()) {
+                throw new IllegalArgumentException("游标结构不正确");
+            }
+            Function<String, ?> parser = valueParsers.get(parts[1]);
+            if (parser == null) {
+                throw new IllegalArgumentException("不支持的排序字段");
+            }
+            Object value = parts[4].charAt(0) == NULL_MARKER ? null : parser.apply(parts[4].substring(1));
+            return new KeysetCursor(parts[1], Sort.Direction.valueOf(parts[2]), value, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.miniservehub.common.page;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 不统计总数的分页
+ * 由切片构造，只知道是否还有下一页；总条数与总页数固定为 {@link #UNKNOWN}，
+ * 响应结构与普通分页保持一致，客户端可据此判断总数未统计
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class UnknownTotalPage<T> extends SliceImpl<T> implements Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 总数未统计时的取值
+     */
+    public static final int UNKNOWN = -1;
+
+    public UnknownTotalPage(List<T> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, hasNext);
+    }
+
+    /**
+     * 由切片构造
+     */
+    public static <T> UnknownTotalPage<T> of(Slice<T> slice) {
+        return new UnknownTotalPage<>(slice.getContent(), slice.getPageable(), slice.hasNext());
+    }
+
+    @Override
+    public int getTotalPages() {
+        return UNKNOWN;
+    }
+
+    @Override
+    public long getTotalElements() {
+        return UNKNOWN;
+    }
+
+    @Override
+    public <U> Page<U> map(Function<? super T, ? extends U> converter) {
+        return new UnknownTotalPage<>(getConvertedContent(converter), getPageable(), hasNext());
+    }
+}
@@ -20,6 +20,7 @@ public enum ResultCode {
     METHOD_NOT_ALLOWED(9005, "请求方法不允许"),
     VALIDATE_FAILED(9006, "参数验证失败"),
     SERVICE_UNAVAILABLE(9007, "服务暂不可用"),
+    TOO_MANY_REQUESTS(9008, "请求过于频繁，请稍后重试"),
 
     // 用户相关错误码 9100-9199
     USER_NOT_FOUND(9101, "用户不存在"),
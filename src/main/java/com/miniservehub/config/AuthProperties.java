@@ -0,0 +1,513 @@
+package com.miniservehub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 认证与鉴权配置属性
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "miniservehub.auth")
+public class AuthProperties {
+
+    /**
+     * 令牌模式：JWT自包含令牌
+     */
+    public static final String TOKEN_MODE_JWT = "jwt";
+
+    /**
+     * 令牌模式：不透明引用令牌（Redis会话）
+     */
+    public static final String TOKEN_MODE_OPAQUE = "opaque";
+
+    /**
+     * 访问令牌模式：jwt 或 opaque
+     */
+    private String tokenMode = TOKEN_MODE_JWT;
+
+    /**
+     * 用户详情本地缓存配置
+     */
+    private UserCache userCache = new UserCache();
+
+    /**
+     * 令牌吊销配置
+     */
+    private Revocation revocation = new Revocation();
+
+    /**
+     * 最后登录信息写后缓冲配置
+     */
+    private LastLogin lastLogin = new LastLogin();
+
+    /**
+     * 密码哈希线程池配置
+     */
+    private PasswordHashing passwordHashing = new PasswordHashing();
+
+    /**
+     * 密码哈希算法策略
+     */
+    private PasswordPolicy passwordPolicy = new PasswordPolicy();
+
+    /**
+     * RBAC快照配置
+     */
+    private Rbac rbac = new Rbac();
+
+    /**
+     * 菜单树缓存配置
+     */
+    private MenuCache menuCache = new MenuCache();
+
+    /**
+     * 令牌内省配置
+     */
+    private Introspection introspection = new Introspection();
+
+    /**
+     * 不透明令牌配置
+     */
+    private OpaqueToken opaqueToken = new OpaqueToken();
+
+    // Getters and Setters
+    public String getTokenMode() {
+        return tokenMode;
+    }
+
+    public void setTokenMode(String tokenMode) {
+        this.tokenMode = tokenMode;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public void setUserCache(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    public Revocation getRevocation() {
+        return revocation;
+    }
+
+    public void setRevocation(Revocation revocation) {
+        this.revocation = revocation;
+    }
+
+    public LastLogin getLastLogin() {
+        return lastLogin;
+    }
+
+    public void setLastLogin(LastLogin lastLogin) {
+        this.lastLogin = lastLogin;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public void setPasswordHashing(PasswordHashing passwordHashing) {
+        this.passwordHashing = passwordHashing;
+    }
+
+    public PasswordPolicy getPasswordPolicy() {
+        return passwordPolicy;
+    }
+
+    public void setPasswordPolicy(PasswordPolicy passwordPolicy) {
+        this.passwordPolicy = passwordPolicy;
+    }
+
+    public Rbac getRbac() {
+        return rbac;
+    }
+
+    public void setRbac(Rbac rbac) {
+        this.rbac = rbac;
+    }
+
+    public MenuCache getMenuCache() {
+        return menuCache;
+    }
+
+    public void setMenuCache(MenuCache menuCache) {
+        this.menuCache = menuCache;
+    }
+
+    public Introspection getIntrospection() {
+        return introspection;
+    }
+
+    public void setIntrospection(Introspection introspection) {
+        this.introspection = introspection;
+    }
+
+    public OpaqueToken getOpaqueToken() {
+        return opaqueToken;
+    }
+
+    public void setOpaqueToken(OpaqueToken opaqueToken) {
+        this.opaqueToken = opaqueToken;
+    }
+
+    /**
+     * 用户详情本地缓存配置
+     */
+    public static class UserCache {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大缓存条目数
+         */
+        private long maximumSize = 10000L;
+
+        /**
+         * 缓存存活时间，同时也是失效消息丢失时被禁用用户在集群内被拒绝的最长延迟
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * 令牌吊销配置
+     */
+    public static class Revocation {
+
+        /**
+         * 布隆过滤器预期吊销数（实际吊销数更多时重建时自动扩容）
+         */
+        private long expectedInsertions = 100000L;
+
+        /**
+         * 布隆过滤器目标误判率
+         */
+        private double falsePositiveProbability = 0.001;
+
+        /**
+         * 布隆过滤器与Redis吊销索引的同步间隔
+         */
+        private Duration syncInterval = Duration.ofSeconds(60);
+
+        public long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public void setExpectedInsertions(long expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        public double getFalsePositiveProbability() {
+            return falsePositiveProbability;
+        }
+
+        public void setFalsePositiveProbability(double falsePositiveProbability) {
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+
+        public Duration getSyncInterval() {
+            return syncInterval;
+        }
+
+        public void setSyncInterval(Duration syncInterval) {
+            this.syncInterval = syncInterval;
+        }
+    }
+
+    /**
+     * 最后登录信息写后缓冲配置
+     */
+    public static class LastLogin {
+
+        /**
+         * 定时写入间隔
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 积压达到该数量时立即写入，同时也是JDBC批大小
+         */
+        private int batchSize = 500;
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * 密码哈希线程池配置
+     */
+    public static class PasswordHashing {
+
+        /**
+         * 工作线程数，0表示使用CPU核数
+         */
+        private int threads = 0;
+
+        /**
+         * 等待队列容量，队列满时直接拒绝
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * 调用方等待哈希结果的最长时间
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * 拒绝时建议客户端重试的间隔（Retry-After）
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /**
+         * 批量导入使用的独立哈希线程数，0表示CPU核数的一半（至少1），避免导入挤占登录的哈希线程
+         */
+        private int bulkThreads = 0;
+
+        /**
+         * 批量哈希等待队列容量，队列满时由提交线程（导入请求线程）自行哈希，形成背压
+         */
+        private int bulkQueueCapacity = 256;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public int getBulkThreads() {
+            return bulkThreads;
+        }
+
+        public void setBulkThreads(int bulkThreads) {
+            this.bulkThreads = bulkThreads;
+        }
+
+        public int getBulkQueueCapacity() {
+            return bulkQueueCapacity;
+        }
+
+        public void setBulkQueueCapacity(int bulkQueueCapacity) {
+            this.bulkQueueCapacity = bulkQueueCapacity;
+        }
+    }
+
+    /**
+     * 密码哈希算法策略
+     */
+    public static class PasswordPolicy {
+
+        /**
+         * 新哈希使用的算法：bcrypt、pbkdf2、argon2
+         */
+        private String algorithm = "bcrypt";
+
+        /**
+         * 启动时是否按目标耗时校准工作因子，关闭时使用各算法的安全默认值
+         */
+        private boolean calibrate = true;
+
+        /**
+         * 单次哈希的目标耗时
+         */
+        private Duration targetLatency = Duration.ofMillis(100);
+
+        /**
+         * PBKDF2迭代次数
+         * PBKDF2哈希不记录迭代次数，校验时必须使用与生成时相同的值，因此固定配置、不参与校准；
+         * 修改后已有的 {pbkdf2} 哈希将无法校验
+         */
+        private int pbkdf2Iterations = 310000;
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public boolean isCalibrate() {
+            return calibrate;
+        }
+
+        public void setCalibrate(boolean calibrate) {
+            this.calibrate = calibrate;
+        }
+
+        public Duration getTargetLatency() {
+            return targetLatency;
+        }
+
+        public void setTargetLatency(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+        }
+
+        public int getPbkdf2Iterations() {
+            return pbkdf2Iterations;
+        }
+
+        public void setPbkdf2Iterations(int pbkdf2Iterations) {
+            this.pbkdf2Iterations = pbkdf2Iterations;
+        }
+    }
+
+    /**
+     * RBAC快照配置
+     */
+    public static class Rbac {
+
+        /**
+         * 定时重建间隔，兜底丢失的变更广播
+         */
+        private Duration refreshInterval = Duration.ofSeconds(60);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    /**
+     * 菜单树缓存配置
+     */
+    public static class MenuCache {
+
+        /**
+         * 最多缓存的角色组合数
+         */
+        private long maximumSize = 1024L;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * 令牌内省配置
+     */
+    public static class Introspection {
+
+        /**
+         * 单次请求最多内省的令牌数
+         */
+        private int maxBatchSize = 500;
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    /**
+     * 不透明令牌配置
+     */
+    public static class OpaqueToken {
+
+        /**
+         * 本地会话缓存最大条目数
+         */
+        private long cacheMaximumSize = 10000L;
+
+        /**
+         * 本地会话缓存存活时间，同时也是登出广播丢失时其他节点仍接受该令牌的最长时间
+         */
+        private Duration cacheTtl = Duration.ofSeconds(30);
+
+        public long getCacheMaximumSize() {
+            return cacheMaximumSize;
+        }
+
+        public void setCacheMaximumSize(long cacheMaximumSize) {
+            this.cacheMaximumSize = cacheMaximumSize;
+        }
+
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+    }
+}
@@ -38,6 +38,16 @@ public class JwtProperties {
      */
     private String tokenPrefix = "Bearer ";
 
+    /**
+     * 是否在访问令牌中内嵌角色与权限（无状态鉴权，请求时不查询数据库）
+     */
+    private boolean statelessAuthorities = false;
+
+    /**
+     * 已验证令牌缓存配置
+     */
+    private Cache cache = new Cache();
+
     // Getters and Setters
     public String getSecret() {
         return secret;
@@ -78,4 +88,52 @@ public class JwtProperties {
     public void setTokenPrefix(String tokenPrefix) {
         this.tokenPrefix = tokenPrefix;
     }
+
+    public boolean isStatelessAuthorities() {
+        return statelessAuthorities;
+    }
+
+    public void setStatelessAuthorities(boolean statelessAuthorities) {
+        this.statelessAuthorities = statelessAuthorities;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * 已验证令牌缓存配置
+     */
+    public static class Cache {
+
+        /**
+         * 是否启用进程内已验证令牌缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大缓存条目数
+         */
+        private long maximumSize = 10000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
 }
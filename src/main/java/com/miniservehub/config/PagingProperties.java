@@ -0,0 +1,57 @@
+package com.miniservehub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 分页配置属性
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "miniservehub.paging")
+public class PagingProperties {
+
+    /**
+     * 缓存的精确总数最多保留的过滤条件数
+     */
+    private long countCacheMaximumSize = 1000L;
+
+    /**
+     * 缓存的精确总数存活时间，兜底未经变更通知的批量写入
+     */
+    private Duration countCacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * 按状态计数（估算总数来源）的刷新间隔
+     */
+    private Duration estimateRefreshInterval = Duration.ofSeconds(60);
+
+    // Getters and Setters
+    public long getCountCacheMaximumSize() {
+        return countCacheMaximumSize;
+    }
+
+    public void setCountCacheMaximumSize(long countCacheMaximumSize) {
+        this.countCacheMaximumSize = countCacheMaximumSize;
+    }
+
+    public Duration getCountCacheTtl() {
+        return countCacheTtl;
+    }
+
+    public void setCountCacheTtl(Duration countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    public Duration getEstimateRefreshInterval() {
+        return estimateRefreshInterval;
+    }
+
+    public void setEstimateRefreshInterval(Duration estimateRefreshInterval) {
+        this.estimateRefreshInterval = estimateRefreshInterval;
+    }
+}
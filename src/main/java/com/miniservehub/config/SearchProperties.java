@@ -0,0 +1,44 @@
+package com.miniservehub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户搜索配置属性
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "miniservehub.search")
+public class SearchProperties {
+
+    /**
+     * 是否启用进程内用户搜索索引，关闭或索引未就绪时回退到SQL模糊查询
+     */
+    private boolean enabled = true;
+
+    /**
+     * 索引从数据库全量重建的间隔，兜底丢失的用户变更广播
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+}
@@ -1,22 +1,27 @@
 package com.miniservehub.config;
 
 import com.miniservehub.security.JwtAuthenticationFilter;
-import com.miniservehub.service.CustomUserDetailsService;
+import com.miniservehub.security.PasswordEncoderFactory;
+import com.miniservehub.security.UrlAuthorizationManager;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -34,37 +39,21 @@ import java.util.Arrays;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
-    @Autowired
-    private CustomUserDetailsService userDetailsService;
-
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    /**
-     * 密码编码器
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    @Autowired
+    private AuthProperties authProperties;
 
-    /**
-     * 认证管理器
-     */
-    @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
-    }
+    @Autowired
+    private UrlAuthorizationManager urlAuthorizationManager;
 
     /**
-     * 认证提供者
+     * 密码编码器（带算法前缀的委托编码器，工作因子按目标耗时校准）
      */
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactory.create(authProperties.getPasswordPolicy());
     }
 
     /**
@@ -84,11 +73,28 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * 静态鉴权规则，请求未被任何接口权限（permissionType=3）守护时使用
+     */
+    private AuthorizationManager<HttpServletRequest> staticAuthorizationManager() {
+        return RequestMatcherDelegatingAuthorizationManager.builder()
+                // 管理员接口
+                .add(AntPathRequestMatcher.antMatcher("/admin/**"), AuthorityAuthorizationManager.hasRole("ADMIN"))
+                // 用户管理接口需要相应权限
+                .add(AntPathRequestMatcher.antMatcher("/users/**"),
+                        AuthorityAuthorizationManager.hasAnyAuthority("user:read", "user:write", "ROLE_ADMIN"))
+                // 其他所有请求需要认证
+                .add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated())
+                .build();
+    }
+
     /**
      * 安全过滤器链配置
      */
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        AuthorizationManager<HttpServletRequest> staticRules = staticAuthorizationManager();
+
         http
             // 禁用CSRF
             .csrf(AbstractHttpConfigurer::disable)
@@ -116,21 +122,15 @@ public class SecurityConfig {
                     "/druid/**"
                 ).permitAll()
                 
-                // 管理员接口
-                .requestMatchers("/admin/**").hasRole("ADMIN")
-                
-                // 用户管理接口需要相应权限
-                .requestMatchers("/users/**").hasAnyAuthority("user:read", "user:write", "ROLE_ADMIN")
-                
-                // 其他所有请求需要认证
-                .anyRequest().authenticated()
+                // 其他请求：命中接口权限路由时按数据库配置鉴权，否则回退到静态规则
+                .anyRequest().access((authentication, context) -> {
+                    AuthorizationDecision decision = urlAuthorizationManager.check(authentication, context);
+                    return decision != null ? decision : staticRules.check(authentication, context.getRequest());
+                })
             )
             
             // 添加JWT过滤器
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
-            
-            // 配置认证提供者
-            .authenticationProvider(authenticationProvider());
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,42 @@
+package com.miniservehub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户批量导入配置属性
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "miniservehub.user-import")
+public class UserImportProperties {
+
+    /**
+     * 每批校验、哈希与插入的行数
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 单次导入最多接受的行数，超出部分不再处理
+     */
+    private int maxRows = 500000;
+
+    // Getters and Setters
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+}
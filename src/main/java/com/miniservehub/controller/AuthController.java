@@ -1,9 +1,15 @@
 package com.miniservehub.controller;
 
+import com.miniservehub.annotation.RequirePermission;
+import com.miniservehub.annotation.RequireRole;
 import com.miniservehub.dto.*;
+import com.miniservehub.security.LoginUser;
 import com.miniservehub.service.AuthService;
+import com.miniservehub.service.TokenIntrospectionService;
+import com.miniservehub.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +18,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 认证控制器
  * 
@@ -28,11 +36,17 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+
     @Operation(summary = "用户登录", description = "用户通过用户名和密码登录系统")
     @PostMapping("/login")
-    public AuthResponse login(@Valid @RequestBody LoginRequest loginRequest) {
+    public AuthResponse login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         logger.info("用户登录请求: {}", loginRequest.getUsername());
-        return authService.login(loginRequest);
+        return authService.login(loginRequest, request.getRemoteAddr());
     }
 
     @Operation(summary = "用户注册", description = "新用户注册账号")
@@ -49,33 +63,44 @@ public class AuthController {
         return authService.refreshToken(refreshTokenRequest);
     }
 
-    @Operation(summary = "用户登出", description = "用户退出登录")
+    @Operation(summary = "用户登出", description = "用户退出登录，当前访问令牌及请求体中提交的刷新令牌立即失效")
     @PostMapping("/logout")
-    public String logout() {
+    public String logout(HttpServletRequest request, @RequestBody(required = false) LogoutRequest logoutRequest) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
             String username = authentication.getName();
-            authService.logout(username);
+            String accessToken = jwtUtil.extractTokenFromHeader(request.getHeader("Authorization"));
+            authService.logout(username, accessToken, logoutRequest != null ? logoutRequest.getRefreshToken() : null);
             logger.info("用户 {} 登出成功", username);
             return "登出成功";
         }
         return "用户未登录";
     }
 
+    @Operation(summary = "吊销令牌", description = "管理员吊销指定令牌，令牌在剩余有效期内不可再使用")
+    @PostMapping("/revoke")
+    @RequireRole("ADMIN")
+    public String revokeToken(@Valid @RequestBody RevokeTokenRequest revokeTokenRequest) {
+        logger.info("吊销令牌请求");
+        authService.revokeToken(revokeTokenRequest.getToken());
+        return "令牌已吊销";
+    }
+
+    @Operation(summary = "批量内省令牌", description = "供下游服务一次校验多个令牌，返回与请求顺序一致的有效性及授权信息")
+    @PostMapping("/introspect")
+    @RequirePermission("token:introspect")
+    public List<TokenIntrospection> introspect(@Valid @RequestBody IntrospectRequest introspectRequest) {
+        logger.debug("批量内省令牌请求: {}", introspectRequest);
+        return tokenIntrospectionService.introspect(introspectRequest.getTokens());
+    }
+
     @Operation(summary = "获取当前用户信息", description = "获取当前登录用户的详细信息")
     @GetMapping("/me")
     public AuthResponse.UserInfo getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            // 这里可以通过用户服务获取完整的用户信息
-            // 为了简化，这里返回基本信息
-            String username = authentication.getName();
-            logger.info("获取当前用户信息: {}", username);
-            
-            // 实际项目中应该通过服务层获取完整用户信息
-            AuthResponse.UserInfo userInfo = new AuthResponse.UserInfo();
-            userInfo.setUsername(username);
-            return userInfo;
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUser loginUser) {
+            logger.info("获取当前用户信息: {}", loginUser.getUsername());
+            return authService.getCurrentUserInfo(loginUser);
         }
         return null;
     }
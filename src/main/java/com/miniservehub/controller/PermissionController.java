@@ -0,0 +1,64 @@
+package com.miniservehub.controller;
+
+import com.miniservehub.annotation.IgnoreResponseAdvice;
+import com.miniservehub.annotation.RequirePermission;
+import com.miniservehub.dto.PermissionDTO;
+import com.miniservehub.service.MenuTreeService;
+import com.miniservehub.service.PermissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * 权限管理控制器
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag(name = "权限管理", description = "权限相关的API接口")
+@RestController
+@RequestMapping("/permissions")
+public class PermissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionController.class);
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private MenuTreeService menuTreeService;
+
+    @Operation(summary = "获取当前用户菜单树", description = "按当前用户角色组合返回已排序的菜单与按钮树")
+    @GetMapping("/menu-tree")
+    @IgnoreResponseAdvice
+    public void getMenuTree(HttpServletResponse response) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // 缓存中已是包装好的JSON，直接写出字节
+        byte[] body = menuTreeService.getMenuTreeJson(authentication.getAuthorities());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    @Operation(summary = "获取权限子树", description = "一次查询返回以指定权限为根的整棵权限树")
+    @GetMapping("/{id}/subtree")
+    @RequirePermission("permission:read")
+    public PermissionDTO getPermissionSubtree(
+            @Parameter(description = "根权限ID", required = true) @PathVariable Long id) {
+        logger.debug("获取权限子树请求: ID={}", id);
+        return permissionService.getPermissionSubtree(id);
+    }
+}
@@ -1,27 +1,43 @@
 package com.miniservehub.controller;
 
+import com.miniservehub.annotation.IgnoreResponseAdvice;
+import com.miniservehub.annotation.RequirePermission;
+import com.miniservehub.common.page.CountStrategy;
+import com.miniservehub.common.page.CursorPage;
 import com.miniservehub.common.result.Result;
 import com.miniservehub.dto.UserDTO;
+import com.miniservehub.dto.UserSuggestionDTO;
 import com.miniservehub.dto.UserCreateDTO;
 import com.miniservehub.dto.UserUpdateDTO;
+import com.miniservehub.service.UserExportService;
+import com.miniservehub.service.UserImportService;
 import com.miniservehub.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.constraints.*;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 
 /**
@@ -41,6 +57,12 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserImportService userImportService;
+
     @Operation(summary = "创建用户", description = "创建新的用户")
     @PostMapping("/createUser")
     public UserDTO createUser(@Valid @RequestBody UserCreateDTO userCreateDTO) {
@@ -102,59 +124,160 @@ public class UserController {
         return "批量删除成功";
     }
 
-    @Operation(summary = "分页查询用户", description = "分页获取用户列表")
+    @Operation(summary = "分页查询用户", description = "分页获取用户列表，可选择总数统计策略")
     @GetMapping
     public Page<UserDTO> getUsers(
             @Parameter(description = "页码，从0开始") @Min(0) @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String sortBy,
-            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "总数策略 exact-精确 cached-缓存 estimated-估算 none-不统计(总数返回-1)") @Pattern(regexp = "exact|cached|estimated|none", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "exact") String count) {
 
         logger.debug("分页查询用户请求: page={}, size={}, sortBy={}, sortDir={}", page, size, sortBy, sortDir);
 
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sanitizeSortBy(sortBy)));
 
-        Page<UserDTO> users = userService.getUsers(pageable);
+        Page<UserDTO> users = userService.getUsers(pageable, CountStrategy.of(count));
         return users;
     }
 
-    @Operation(summary = "搜索用户", description = "根据关键词搜索用户")
+    @Operation(summary = "搜索用户", description = "根据关键词搜索用户，可选择总数统计策略")
     @GetMapping("/search")
     public Page<UserDTO> searchUsers(
             @Parameter(description = "搜索关键词") @NotBlank @RequestParam String keyword,
             @Parameter(description = "页码，从0开始") @Min(0) @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String sortBy,
-            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "总数策略 exact-精确 cached-缓存 estimated-估算 none-不统计(总数返回-1)") @Pattern(regexp = "exact|cached|estimated|none", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "exact") String count) {
 
         logger.debug("搜索用户请求: keyword={}, page={}, size={}", keyword, page, size);
 
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sanitizeSortBy(sortBy)));
 
-        Page<UserDTO> users = userService.searchUsers(keyword, pageable);
+        Page<UserDTO> users = userService.searchUsers(keyword, pageable, CountStrategy.of(count));
         return users;
     }
 
-    @Operation(summary = "根据状态查询用户", description = "根据用户状态分页查询用户")
+    @Operation(summary = "用户前缀补全", description = "按前缀补全用户名、邮箱与手机号，结果按字典序返回")
+    @GetMapping("/suggest")
+    public List<UserSuggestionDTO> suggestUsers(
+            @Parameter(description = "前缀") @NotBlank @Size(max = 100) @RequestParam String prefix,
+            @Parameter(description = "最多返回条数") @Min(1) @Max(50) @RequestParam(defaultValue = "10") int limit) {
+        return userService.suggestUsers(prefix, limit);
+    }
+
+    @Operation(summary = "根据状态查询用户", description = "根据用户状态分页查询用户，可选择总数统计策略")
     @GetMapping("/status/{status}")
     public Page<UserDTO> getUsersByStatus(
             @Parameter(description = "用户状态 0-禁用 1-启用") @Min(0) @Max(1) @PathVariable Integer status,
             @Parameter(description = "页码，从0开始") @Min(0) @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "每页大小") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String sortBy,
-            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "总数策略 exact-精确 cached-缓存 estimated-估算 none-不统计(总数返回-1)") @Pattern(regexp = "exact|cached|estimated|none", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "exact") String count) {
 
         logger.debug("根据状态查询用户请求: status={}, page={}, size={}", status, page, size);
 
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sanitizeSortBy(sortBy)));
 
-        Page<UserDTO> users = userService.getUsersByStatus(status, pageable);
+        Page<UserDTO> users = userService.getUsersByStatus(status, pageable, CountStrategy.of(count));
         return users;
     }
 
+    @Operation(summary = "导出用户", description = "流式导出符合条件的全部用户（NDJSON或CSV），可选gzip压缩，内存占用与行数无关")
+    @GetMapping("/export")
+    @RequirePermission("user:export")
+    @IgnoreResponseAdvice
+    public void exportUsers(
+            @Parameter(description = "导出格式 ndjson/csv") @Pattern(regexp = "ndjson|csv", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "用户状态 0-禁用 1-启用") @Min(0) @Max(1) @RequestParam(required = false) Integer status,
+            @Parameter(description = "创建时间下限（含），格式 yyyy-MM-dd HH:mm:ss") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") @RequestParam(required = false) LocalDateTime createTimeFrom,
+            @Parameter(description = "创建时间上限（不含），格式 yyyy-MM-dd HH:mm:ss") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") @RequestParam(required = false) LocalDateTime createTimeTo,
+            @Parameter(description = "是否gzip压缩") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+
+        logger.info("导出用户请求: format={}, status={}, createTimeFrom={}, createTimeTo={}, gzip={}",
+                format, status, createTimeFrom, createTimeTo, gzip);
+
+        boolean csv = UserExportService.FORMAT_CSV.equalsIgnoreCase(format);
+        String filename = "users-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+                + (csv ? ".csv" : ".ndjson");
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+            userExportService.export(format, status, createTimeFrom, createTimeTo, gzipOut);
+            gzipOut.finish();
+        } else {
+            userExportService.export(format, status, createTimeFrom, createTimeTo, out);
+        }
+        out.flush();
+    }
+
+    @Operation(summary = "批量导入用户", description = "请求体为NDJSON或带列名首行的CSV，边读边按块校验、查重、哈希与批量插入，以NDJSON逐行返回错误、进度与汇总")
+    @PostMapping("/import")
+    @RequirePermission("user:import")
+    @IgnoreResponseAdvice
+    public void importUsers(
+            @Parameter(description = "上传格式 ndjson/csv") @Pattern(regexp = "ndjson|csv", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        logger.info("批量导入用户请求: format={}, contentLength={}", format, request.getContentLengthLong());
+
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        OutputStream out = response.getOutputStream();
+        userImportService.importUsers(format, request.getInputStream(), out);
+        out.flush();
+    }
+
+    @Operation(summary = "游标分页查询用户", description = "按上一页返回的游标翻页，深翻页耗时与页码无关，不统计总数")
+    @GetMapping("/cursor")
+    public CursorPage<UserDTO> getUsersByCursor(
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String sortBy,
+            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("游标分页查询用户请求: size={}, sortBy={}, sortDir={}", size, sortBy, sortDir);
+        return userService.getUsersByCursor(cursor, size, sanitizeSortBy(sortBy), directionOf(sortDir));
+    }
+
+    @Operation(summary = "游标分页搜索用户", description = "根据关键词搜索用户，按游标翻页")
+    @GetMapping("/search/cursor")
+    public CursorPage<UserDTO> searchUsersByCursor(
+            @Parameter(description = "搜索关键词") @NotBlank @RequestParam String keyword,
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String sortBy,
+            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("游标分页搜索用户请求: keyword={}, size={}", keyword, size);
+        return userService.searchUsersByCursor(keyword, cursor, size, sanitizeSortBy(sortBy), directionOf(sortDir));
+    }
+
+    @Operation(summary = "游标分页按状态查询用户", description = "根据用户状态查询用户，按游标翻页")
+    @GetMapping("/status/{status}/cursor")
+    public CursorPage<UserDTO> getUsersByStatusByCursor(
+            @Parameter(description = "用户状态 0-禁用 1-启用") @Min(0) @Max(1) @PathVariable Integer status,
+            @Parameter(description = "上一页返回的游标，首页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @Min(1) @Max(100) @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "排序字段") @RequestParam(defaultValue = "createTime") String sortBy,
+            @Parameter(description = "排序方向") @Pattern(regexp = "asc|desc", flags = Pattern.Flag.CASE_INSENSITIVE) @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("游标分页按状态查询用户请求: status={}, size={}", status, size);
+        return userService.getUsersByStatusByCursor(status, cursor, size, sanitizeSortBy(sortBy), directionOf(sortDir));
+    }
+
     @Operation(summary = "启用用户", description = "启用指定的用户")
     @PutMapping("/{id}/enable")
     public String enableUser(
@@ -228,6 +351,10 @@ public class UserController {
     }
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("createTime", "username", "email", "status");
 
+    private Sort.Direction directionOf(String sortDir) {
+        return "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
     private String sanitizeSortBy(String sortBy) {
         if (sortBy == null || !ALLOWED_SORT_FIELDS.contains(sortBy)) {
             return "createTime";
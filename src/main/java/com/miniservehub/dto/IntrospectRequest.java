@@ -0,0 +1,39 @@
+package com.miniservehub.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * 批量令牌内省请求DTO
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class IntrospectRequest {
+
+    @NotEmpty(message = "令牌列表不能为空")
+    private List<@NotBlank(message = "令牌不能为空") String> tokens;
+
+    public IntrospectRequest() {}
+
+    public IntrospectRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    @Override
+    public String toString() {
+        return "IntrospectRequest{" +
+                "tokens=" + (tokens != null ? tokens.size() : 0) +
+                '}';
+    }
+}
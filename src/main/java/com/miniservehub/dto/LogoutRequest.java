@@ -0,0 +1,36 @@
+package com.miniservehub.dto;
+
+/**
+ * 登出请求DTO
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class LogoutRequest {
+
+    /**
+     * 需要一并作废的刷新令牌，可为空
+     */
+    private String refreshToken;
+
+    public LogoutRequest() {}
+
+    public LogoutRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @Override
+    public String toString() {
+        return "LogoutRequest{" +
+                "refreshToken='[PROTECTED]'" +
+                '}';
+    }
+}
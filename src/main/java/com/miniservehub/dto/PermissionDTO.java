@@ -0,0 +1,144 @@
+package com.miniservehub.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 权限数据传输对象（树形结构）
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class PermissionDTO {
+
+    private Long id;
+
+    /**
+     * 权限编码
+     */
+    private String permissionCode;
+
+    /**
+     * 权限名称
+     */
+    private String permissionName;
+
+    /**
+     * 权限类型：1-菜单，2-按钮，3-接口
+     */
+    private Integer permissionType;
+
+    /**
+     * 父权限ID
+     */
+    private Long parentId;
+
+    /**
+     * 权限路径
+     */
+    private String permissionPath;
+
+    /**
+     * HTTP方法
+     */
+    private String httpMethod;
+
+    /**
+     * 状态
+     */
+    private Integer status;
+
+    /**
+     * 排序
+     */
+    private Integer sortOrder;
+
+    /**
+     * 子权限
+     */
+    private List<PermissionDTO> children = new ArrayList<>();
+
+    // 构造函数
+    public PermissionDTO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getPermissionCode() {
+        return permissionCode;
+    }
+
+    public void setPermissionCode(String permissionCode) {
+        this.permissionCode = permissionCode;
+    }
+
+    public String getPermissionName() {
+        return permissionName;
+    }
+
+    public void setPermissionName(String permissionName) {
+        this.permissionName = permissionName;
+    }
+
+    public Integer getPermissionType() {
+        return permissionType;
+    }
+
+    public void setPermissionType(Integer permissionType) {
+        this.permissionType = permissionType;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPermissionPath() {
+        return permissionPath;
+    }
+
+    public void setPermissionPath(String permissionPath) {
+        this.permissionPath = permissionPath;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public void setHttpMethod(String httpMethod) {
+        this.httpMethod = httpMethod;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Integer getSortOrder() {
+        return sortOrder;
+    }
+
+    public void setSortOrder(Integer sortOrder) {
+        this.sortOrder = sortOrder;
+    }
+
+    public List<PermissionDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<PermissionDTO> children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,36 @@
+package com.miniservehub.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 吊销令牌请求DTO
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class RevokeTokenRequest {
+
+    @NotBlank(message = "令牌不能为空")
+    private String token;
+
+    public RevokeTokenRequest() {}
+
+    public RevokeTokenRequest(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    @Override
+    public String toString() {
+        return "RevokeTokenRequest{" +
+                "token='[PROTECTED]'" +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.miniservehub.dto;
+
+import java.util.Set;
+
+/**
+ * 令牌内省结果DTO
+ * 无效令牌只返回 active=false，不暴露其他信息
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class TokenIntrospection {
+
+    /**
+     * 令牌是否有效（签名、有效期、吊销状态与用户状态均通过）
+     */
+    private boolean active;
+
+    /**
+     * 令牌主体（用户名）
+     */
+    private String subject;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 令牌类型：access 或 refresh
+     */
+    private String tokenType;
+
+    /**
+     * 过期时间（epoch秒）
+     */
+    private Long expiresAt;
+
+    /**
+     * 角色编码
+     */
+    private Set<String> roles;
+
+    /**
+     * 权限编码
+     */
+    private Set<String> permissions;
+
+    public TokenIntrospection() {}
+
+    /**
+     * 无效令牌的结果
+     */
+    public static TokenIntrospection inactive() {
+        return new TokenIntrospection();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+    }
+
+    public Set<String> getPermissions() {
+        return permissions;
+    }
+
+    public void setPermissions(Set<String> permissions) {
+        this.permissions = permissions;
+    }
+}
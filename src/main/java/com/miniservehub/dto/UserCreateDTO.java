@@ -27,11 +27,13 @@ public class UserCreateDTO {
     private String realName;
 
     @Email(message = "邮箱格式不正确")
+    @Size(max = 100, message = "邮箱长度不能超过100个字符")
     private String email;
 
     @Size(max = 11, message = "手机号长度不能超过11位")
     private String phone;
 
+    @Size(max = 500, message = "头像地址长度不能超过500个字符")
     private String avatar;
 
     private Integer gender;
@@ -41,6 +43,7 @@ public class UserCreateDTO {
 
     private Integer userType;
 
+    @Size(max = 500, message = "备注长度不能超过500个字符")
     private String remark;
 
     // 构造函数
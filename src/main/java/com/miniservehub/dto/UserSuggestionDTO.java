@@ -0,0 +1,66 @@
+package com.miniservehub.dto;
+
+/**
+ * 用户前缀补全结果DTO
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class UserSuggestionDTO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 命中字段：username、email 或 phone
+     */
+    private String field;
+
+    /**
+     * 命中的字段值（用户名与邮箱为小写，手机号只含数字）
+     */
+    private String value;
+
+    public UserSuggestionDTO() {}
+
+    public UserSuggestionDTO(Long userId, String field, String value) {
+        this.userId = userId;
+        this.field = field;
+        this.value = value;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return "UserSuggestionDTO{" +
+                "userId=" + userId +
+                ", field='" + field + '\'' +
+                ", value='" + value + '\'' +
+                '}';
+    }
+}
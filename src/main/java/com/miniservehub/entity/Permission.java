@@ -22,6 +22,7 @@ import java.util.Set;
     @Index(name = "idx_parent_id", columnList = "parentId")
 })
 @TableName("sys_permission")
+@EntityListeners(RbacChangeListener.class)
 public class Permission extends BaseEntity {
 
     /**
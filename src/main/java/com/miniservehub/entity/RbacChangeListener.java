@@ -0,0 +1,37 @@
+package com.miniservehub.entity;
+
+import com.miniservehub.service.RbacSnapshotService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 角色与权限实体监听器
+ * 实体增删改后通知 {@link RbacSnapshotService} 在事务提交后重建快照；
+ * 仅修改关联集合而实体本身未更新时不会触发，此类操作需显式调用 notifyChanged
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class RbacChangeListener {
+
+    /**
+     * 延迟获取，避免与EntityManagerFactory形成循环依赖
+     */
+    @Autowired
+    private ObjectProvider<RbacSnapshotService> rbacSnapshotService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        RbacSnapshotService service = rbacSnapshotService.getIfAvailable();
+        if (service != null) {
+            service.notifyChanged();
+        }
+    }
+}
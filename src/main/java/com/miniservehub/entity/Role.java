@@ -21,6 +21,7 @@ import java.util.Set;
     @Index(name = "idx_role_name", columnList = "roleName")
 })
 @TableName("sys_role")
+@EntityListeners(RbacChangeListener.class)
 public class Role extends BaseEntity {
 
     /**
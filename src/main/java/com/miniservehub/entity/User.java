@@ -11,6 +11,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,7 +26,9 @@ import java.util.stream.Collectors;
 @Table(name = "sys_user", indexes = {
     @Index(name = "idx_username", columnList = "username", unique = true),
     @Index(name = "idx_email", columnList = "email", unique = true),
-    @Index(name = "idx_phone", columnList = "phone")
+    @Index(name = "idx_phone", columnList = "phone"),
+    @Index(name = "idx_create_time", columnList = "create_time"),
+    @Index(name = "idx_status_create_time", columnList = "status, create_time")
 })
 @TableName("sys_user")
 public class User extends BaseEntity implements UserDetails {
@@ -125,6 +128,12 @@ public class User extends BaseEntity implements UserDetails {
     )
     private Set<Role> roles = new HashSet<>();
 
+    /**
+     * 授权集合缓存，首次访问时由角色与权限构建，角色变更时重置
+     */
+    @Transient
+    private transient volatile Set<GrantedAuthority> authorities;
+
     // 构造函数
     public User() {}
 
@@ -247,11 +256,17 @@ public class User extends BaseEntity implements UserDetails {
 
     public void setRoles(Set<Role> roles) {
         this.roles = roles;
+        this.authorities = null;
     }
 
     // Spring Security UserDetails 接口实现
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        Set<GrantedAuthority> cached = this.authorities;
+        if (cached != null) {
+            return cached;
+        }
+
         Set<GrantedAuthority> authorities = new HashSet<>();
         
         // 添加角色权限
@@ -264,7 +279,9 @@ public class User extends BaseEntity implements UserDetails {
             }
         }
         
-        return authorities;
+        cached = Collections.unmodifiableSet(authorities);
+        this.authorities = cached;
+        return cached;
     }
 
     @Override
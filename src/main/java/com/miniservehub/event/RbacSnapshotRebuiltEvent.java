@@ -0,0 +1,33 @@
+package com.miniservehub.event;
+
+import com.miniservehub.security.RbacSnapshot;
+
+/**
+ * RBAC快照重建事件
+ * 快照内容发生变化并完成替换后在本节点发布
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class RbacSnapshotRebuiltEvent {
+
+    /**
+     * 新快照
+     */
+    private final RbacSnapshot snapshot;
+
+    public RbacSnapshotRebuiltEvent(RbacSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public RbacSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return "RbacSnapshotRebuiltEvent{" +
+                "version=" + snapshot.getVersion() +
+                '}';
+    }
+}
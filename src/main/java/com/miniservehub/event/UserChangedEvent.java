@@ -0,0 +1,34 @@
+package com.miniservehub.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户变更事件
+ * 用户信息、状态、密码变更或删除后发布，本节点与集群其他节点（经Redis转发）都会收到
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class UserChangedEvent {
+
+    /**
+     * 发生变更的用户ID
+     */
+    private final List<Long> userIds;
+
+    public UserChangedEvent(Collection<Long> userIds) {
+        this.userIds = List.copyOf(userIds);
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+                "userIds=" + userIds +
+                '}';
+    }
+}
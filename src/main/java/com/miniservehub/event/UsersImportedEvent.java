@@ -0,0 +1,32 @@
+package com.miniservehub.event;
+
+/**
+ * 用户批量导入完成事件
+ * 导入新增了用户后发布一次，本节点与集群其他节点（经Redis转发）都会收到。
+ * 新用户不可能已被任何节点缓存，因此不携带用户ID，仅供搜索索引、总数缓存等需要感知新增用户的组件刷新
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class UsersImportedEvent {
+
+    /**
+     * 本次导入新增的用户数
+     */
+    private final long inserted;
+
+    public UsersImportedEvent(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    @Override
+    public String toString() {
+        return "UsersImportedEvent{" +
+                "inserted=" + inserted +
+                '}';
+    }
+}
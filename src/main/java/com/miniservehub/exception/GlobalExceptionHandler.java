@@ -5,7 +5,9 @@ import com.miniservehub.common.result.ResultCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
@@ -37,6 +39,17 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /**
+     * 处理服务繁忙异常 - 返回429并携带Retry-After
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Result<Void>> handleServiceBusyException(ServiceBusyException e) {
+        logger.warn("服务繁忙: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Result.error(e.getCode(), e.getMessage()));
+    }
+
     /**
      * 处理业务异常
      */
@@ -0,0 +1,34 @@
+package com.miniservehub.exception;
+
+import com.miniservehub.common.result.ResultCode;
+
+/**
+ * 服务繁忙异常
+ * 资源池饱和时快速拒绝请求，由全局异常处理器转换为HTTP 429并携带Retry-After
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class ServiceBusyException extends BusinessException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建议客户端重试的间隔（秒）
+     */
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(long retryAfterSeconds) {
+        super(ResultCode.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(ResultCode.TOO_MANY_REQUESTS, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -48,4 +49,17 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
      */
     @Query("SELECT p FROM Permission p WHERE p.permissionCode IN :permissionCodes AND p.status = 1")
     Set<Permission> findByPermissionCodesAndStatusActive(@Param("permissionCodes") Set<String> permissionCodes);
+
+    /**
+     * 一次查询获取以指定节点为根的整棵权限子树（含根节点）
+     *
+     * @param rootId 根权限ID
+     * @return 子树中未删除的权限
+     */
+    @Query(value = "WITH RECURSIVE subtree AS (" +
+            "SELECT * FROM sys_permission WHERE id = :rootId AND deleted = 0 " +
+            "UNION ALL " +
+            "SELECT p.* FROM sys_permission p JOIN subtree s ON p.parent_id = s.id WHERE p.deleted = 0" +
+            ") SELECT * FROM subtree", nativeQuery = true)
+    List<Permission> findSubtree(@Param("rootId") Long rootId);
 }
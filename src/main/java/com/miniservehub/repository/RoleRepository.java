@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -33,6 +34,15 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      */
     Set<Role> findByStatus(Integer status);
 
+    /**
+     * 根据状态查找角色，并一次性抓取其权限
+     *
+     * @param status 状态
+     * @return 角色列表
+     */
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.permissions WHERE r.status = :status")
+    List<Role> findWithPermissionsByStatus(@Param("status") Integer status);
+
     /**
      * 根据角色编码集合查找角色
      */
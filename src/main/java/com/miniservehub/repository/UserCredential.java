@@ -0,0 +1,19 @@
+package com.miniservehub.repository;
+
+/**
+ * 用户凭据投影
+ * 登录校验只需要的轻量字段，不加载角色与权限
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public interface UserCredential {
+
+    Long getId();
+
+    String getUsername();
+
+    String getPassword();
+
+    Integer getStatus();
+}
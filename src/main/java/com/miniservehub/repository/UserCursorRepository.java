@@ -0,0 +1,47 @@
+package com.miniservehub.repository;
+
+import com.miniservehub.common.page.KeysetCursor;
+import com.miniservehub.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 用户键集分页查询（自定义仓库片段）
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public interface UserCursorRepository {
+
+    /**
+     * 支持键集分页的排序字段
+     */
+    List<String> KEYSET_SORT_FIELDS = List.of("createTime", "username", "email", "status");
+
+    /**
+     * 排序字段 -> 游标中字段值的解析器，解析失败的游标按无效游标处理
+     */
+    Map<String, Function<String, ?>> KEYSET_SORT_VALUE_PARSERS = Map.of(
+            "createTime", LocalDateTime::parse,
+            "username", value -> value,
+            "email", value -> value,
+            "status", Integer::valueOf);
+
+    /**
+     * 按 (排序字段, id) 查询游标之后的一批用户，不执行COUNT
+     *
+     * @param filter 过滤条件，可为null
+     * @param sortField 排序字段，见 {@link #KEYSET_SORT_FIELDS}
+     * @param direction 排序方向，id按同一方向作为次序键
+     * @param after 上一页游标，首页为null
+     * @param limit 最多返回行数
+     * @return 用户列表
+     */
+    List<User> findAfter(Specification<User> filter, String sortField, Sort.Direction direction,
+                         KeysetCursor after, int limit);
+}
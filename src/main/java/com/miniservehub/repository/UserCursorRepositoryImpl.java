@@ -0,0 +1,99 @@
+package com.miniservehub.repository;
+
+import com.miniservehub.common.page.KeysetCursor;
+import com.miniservehub.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户键集分页查询实现
+ * 翻页条件展开为 {@code key >= ? AND (key > ? OR (key = ? AND id > ?))} 形式（降序时方向相反），
+ * MySQL对这种写法可以直接在 (key, id) 索引上做范围扫描，深翻页耗时与页码无关。
+ * 可为空的排序字段（email）按MySQL默认顺序处理：升序时NULL在最前，降序时NULL在最后
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class UserCursorRepositoryImpl implements UserCursorRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<User> findAfter(Specification<User> filter, String sortField, Sort.Direction direction,
+                                KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> query = cb.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (after != null) {
+            predicates.add(seekPredicate(cb, root, sortField, direction, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        Path<Object> key = root.get(sortField);
+        Path<Object> id = root.get("id");
+        query.orderBy(direction.isAscending()
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<User> root, String sortField,
+                                    Sort.Direction direction, KeysetCursor after) {
+        // 游标解码时已按 KEYSET_SORT_VALUE_PARSERS 还原字段值类型
+        Object value = after.value();
+        return switch (sortField) {
+            case "createTime" -> seek(cb, root.get("createTime"), root.get("id"),
+                    (LocalDateTime) value, after.id(), direction, false);
+            case "username" -> seek(cb, root.get("username"), root.get("id"), (String) value, after.id(), direction, false);
+            case "email" -> seek(cb, root.get("email"), root.get("id"), (String) value, after.id(), direction, true);
+            case "status" -> seek(cb, root.get("status"), root.get("id"),
+                    (Integer) value, after.id(), direction, false);
+            default -> throw new IllegalArgumentException("不支持的键集排序字段: " + sortField);
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Path<Y> key, Path<Long> id,
+                                                                   Y value, long lastId, Sort.Direction direction,
+                                                                   boolean nullable) {
+        boolean ascending = direction.isAscending();
+        Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+
+        if (value == null) {
+            // 上一页停在NULL区间：升序时NULL在前，之后是同为NULL的更大ID及全部非NULL；降序时NULL在末尾
+            Predicate sameNull = cb.and(cb.isNull(key), idAfter);
+            return ascending ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+        }
+
+        Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        Predicate tie = cb.and(cb.equal(key, value), idAfter);
+        if (nullable && !ascending) {
+            return cb.or(keyAfter, tie, cb.isNull(key));
+        }
+        // 冗余的范围条件：不能从OR条件推导索引范围的数据库（如H2）也能直接定位到游标位置
+        Predicate keyFrom = ascending ? cb.greaterThanOrEqualTo(key, value) : cb.lessThanOrEqualTo(key, value);
+        return cb.and(keyFrom, cb.or(keyAfter, tie));
+    }
+}
@@ -3,14 +3,18 @@ package com.miniservehub.repository;
 import com.miniservehub.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +25,7 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserCursorRepository {
 
     /**
      * 根据用户名查找用户
@@ -31,6 +35,37 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * 根据用户名查找用户，并在同一条SQL中抓取角色
+     * 角色的权限由RBAC快照解析，不在此加载，因此查询次数与角色数量无关
+     *
+     * @param username 用户名
+     * @return 用户信息（含角色）
+     */
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.username = :username")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
+    /**
+     * 根据ID查找用户，并在同一条SQL中抓取角色
+     *
+     * @param id 用户ID
+     * @return 用户信息（含角色）
+     */
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithRolesById(@Param("id") Long id);
+
+    /**
+     * 根据用户名查找登录凭据（不加载角色）
+     *
+     * @param username 用户名
+     * @return 凭据投影
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.password AS password, u.status AS status " +
+           "FROM User u WHERE u.username = :username")
+    Optional<UserCredential> findCredentialByUsername(@Param("username") String username);
+
     /**
      * 根据邮箱查找用户
      *
@@ -71,6 +106,33 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      */
     boolean existsByPhone(String phone);
 
+    /**
+     * 查询已存在的用户名
+     *
+     * @param usernames 用户名集合
+     * @return 其中已存在的用户名
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 查询已存在的邮箱
+     *
+     * @param emails 邮箱集合
+     * @return 其中已存在的邮箱
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * 查询已存在的手机号
+     *
+     * @param phones 手机号集合
+     * @return 其中已存在的手机号
+     */
+    @Query("SELECT u.phone FROM User u WHERE u.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
     /**
      * 根据状态查找用户
      *
@@ -80,6 +142,24 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
      */
     Page<User> findByStatus(Integer status, Pageable pageable);
 
+    /**
+     * 根据状态查找用户（不统计总数）
+     *
+     * @param status 状态
+     * @param pageable 分页参数
+     * @return 用户切片
+     */
+    Slice<User> findSliceByStatus(Integer status, Pageable pageable);
+
+    /**
+     * 分页查找全部用户（不统计总数）
+     *
+     * @param pageable 分页参数
+     * @return 用户切片
+     */
+    @Query("SELECT u FROM User u")
+    Slice<User> findAllSlice(Pageable pageable);
+
     /**
      * 根据用户类型查找用户
      *
@@ -102,6 +182,43 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
            "OR u.phone LIKE %:keyword%")
     Page<User> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 模糊查询用户（不统计总数）
+     *
+     * @param keyword 关键词
+     * @param pageable 分页参数
+     * @return 用户切片
+     */
+    @Query("SELECT u FROM User u WHERE u.username LIKE %:keyword% " +
+           "OR u.realName LIKE %:keyword% " +
+           "OR u.email LIKE %:keyword% " +
+           "OR u.phone LIKE %:keyword%")
+    Slice<User> findSliceByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * 统计模糊查询的用户数
+     *
+     * @param keyword 关键词
+     * @return 用户数
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE u.username LIKE %:keyword% " +
+           "OR u.realName LIKE %:keyword% " +
+           "OR u.email LIKE %:keyword% " +
+           "OR u.phone LIKE %:keyword%")
+    long countByKeyword(@Param("keyword") String keyword);
+
+    /**
+     * 前缀查询用户（用户名、邮箱、手机号），可走对应列索引，不做总数统计
+     *
+     * @param prefix 前缀
+     * @param pageable 分页参数
+     * @return 用户列表
+     */
+    @Query("SELECT u FROM User u WHERE u.username LIKE :prefix% " +
+           "OR u.email LIKE :prefix% " +
+           "OR u.phone LIKE :prefix%")
+    List<User> findByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
     /**
      * 根据创建时间范围查找用户
      *
@@ -160,6 +277,21 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     @Query("UPDATE User u SET u.status = :status WHERE u.id IN :userIds")
     void batchUpdateStatus(@Param("userIds") List<Long> userIds, @Param("status") Integer status);
 
+    /**
+     * 替换密码哈希，仅当当前哈希仍为旧值时生效，避免覆盖并发的密码修改
+     *
+     * @param userId 用户ID
+     * @param oldPassword 旧密码哈希
+     * @param newPassword 新密码哈希
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :userId AND u.password = :oldPassword")
+    int updatePassword(@Param("userId") Long userId,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
+
     /**
      * 根据用户类型和状态查找用户
      *
@@ -0,0 +1,18 @@
+package com.miniservehub.search;
+
+/**
+ * 进入搜索索引的用户字段
+ *
+ * @param id 用户ID
+ * @param username 用户名
+ * @param realName 真实姓名
+ * @param email 邮箱
+ * @param phone 手机号
+ * @param status 状态
+ * @param createTime 创建时间（毫秒时间戳，未知时为 {@link Long#MIN_VALUE}）
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+record IndexedUser(long id, String username, String realName, String email, String phone,
+                   int status, long createTime) {
+}
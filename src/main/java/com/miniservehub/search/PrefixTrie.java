@@ -0,0 +1,260 @@
+package com.miniservehub.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 前缀补全用的基数树（压缩前缀树）
+ * 单子节点链在插入时合并为一条带字符串标签的边、删除后重新合并，节点数与键数同阶；
+ * 子节点按首字符有序存放在数组中，终止节点的值为升序的原始long数组，同一个键可对应多个值。
+ * 补全时先沿前缀下行，再按字典序深度优先收集，收满k个即停止，耗时与k和前缀长度相关而与总键数无关。
+ * 非线程安全，由 {@link UserSearchIndex} 负责读写加锁
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+final class PrefixTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final long[] NO_VALUES = new long[0];
+
+    private final Node root = new Node("");
+
+    private int size;
+
+    /**
+     * 键值对数量
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 添加键值对，已存在时忽略
+     */
+    void put(String key, long value) {
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = node.childIndex(key.charAt(pos));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(pos));
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, pos);
+            if (common < child.label.length()) {
+                // 在公共前缀处拆分边
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            pos += common;
+        }
+        if (node.addValue(value)) {
+            size++;
+        }
+    }
+
+    /**
+     * 删除键值对，并回收空节点、合并单子节点链
+     */
+    void remove(String key, long value) {
+        if (key.isEmpty()) {
+            return;
+        }
+        removeFrom(root, key, 0, value);
+    }
+
+    private boolean removeFrom(Node node, String key, int pos, long value) {
+        int index = node.childIndex(key.charAt(pos));
+        if (index < 0) {
+            return false;
+        }
+        Node child = node.children[index];
+        if (!key.startsWith(child.label, pos)) {
+            return false;
+        }
+
+        int next = pos + child.label.length();
+        boolean removed = next == key.length()
+                ? child.removeValue(value)
+                : removeFrom(child, key, next, value);
+        if (!removed) {
+            return false;
+        }
+        if (next == key.length()) {
+            size--;
+        }
+
+        if (child.values.length == 0 && child.children.length == 0) {
+            node.removeChild(index);
+        } else if (child.values.length == 0 && child.children.length == 1) {
+            Node grandchild = child.children[0];
+            grandchild.label = child.label + grandchild.label;
+            node.children[index] = grandchild;
+        }
+        return true;
+    }
+
+    /**
+     * 按字典序收集以prefix开头的前limit个键值对
+     */
+    void collect(String prefix, int limit, List<Match> matches) {
+        if (prefix.isEmpty() || limit <= 0) {
+            return;
+        }
+        Node node = root;
+        StringBuilder path = new StringBuilder(prefix.length() + 16);
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(pos));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, prefix, pos);
+            if (pos + common < prefix.length() && common < child.label.length()) {
+                return;
+            }
+            path.append(child.label);
+            node = child;
+            pos += common;
+        }
+        collectFrom(node, path, limit, matches);
+    }
+
+    private static void collectFrom(Node node, StringBuilder path, int limit, List<Match> matches) {
+        if (node.values.length > 0) {
+            String key = path.toString();
+            for (long value : node.values) {
+                if (matches.size() >= limit) {
+                    return;
+                }
+                matches.add(new Match(key, value));
+            }
+        }
+        for (Node child : node.children) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            int length = path.length();
+            path.append(child.label);
+            collectFrom(child, path, limit, matches);
+            path.setLength(length);
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 补全结果
+     *
+     * @param key 完整键
+     * @param value 值
+     */
+    record Match(String key, long value) {
+    }
+
+    private static final class Node {
+
+        /**
+         * 从父节点到本节点的边标签
+         */
+        private String label;
+
+        private Node[] children = NO_CHILDREN;
+
+        private long[] values = NO_VALUES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * 按首字符二分查找子节点，未找到时返回 -(插入位置)-1
+         */
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+
+        void insertChild(int index, Node child) {
+            Node[] expanded = new Node[children.length + 1];
+            System.arraycopy(children, 0, expanded, 0, index);
+            expanded[index] = child;
+            System.arraycopy(children, index, expanded, index + 1, children.length - index);
+            children = expanded;
+        }
+
+        void removeChild(int index) {
+            if (children.length == 1) {
+                children = NO_CHILDREN;
+                return;
+            }
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        boolean addValue(long value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            long[] expanded = new long[values.length + 1];
+            System.arraycopy(values, 0, expanded, 0, insertAt);
+            expanded[insertAt] = value;
+            System.arraycopy(values, insertAt, expanded, insertAt + 1, values.length - insertAt);
+            values = expanded;
+            return true;
+        }
+
+        boolean removeValue(long value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index < 0) {
+                return false;
+            }
+            if (values.length == 1) {
+                values = NO_VALUES;
+                return true;
+            }
+            long[] shrunk = new long[values.length - 1];
+            System.arraycopy(values, 0, shrunk, 0, index);
+            System.arraycopy(values, index + 1, shrunk, index, values.length - index - 1);
+            values = shrunk;
+            return true;
+        }
+    }
+}
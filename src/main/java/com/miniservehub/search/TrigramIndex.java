@@ -0,0 +1,358 @@
+package com.miniservehub.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 用户三元组倒排索引
+ * 每个用户占用一个递增的文档号，倒排表为升序的原始int数组；更新时追加新文档并标记旧文档失效，
+ * 倒排表只追加不删除，失效文档过多时由 {@link #compact()} 整体重建。
+ * 三元组只用于缩小候选集，最终结果逐条做子串校验，因此结果与 {@code LIKE %kw%} 一致（通配符按字面匹配）。
+ * 非线程安全，由 {@link UserSearchIndex} 负责读写加锁
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+final class TrigramIndex {
+
+    /**
+     * 字段分隔符，关键词中不会出现，因此不会跨字段匹配
+     */
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * 支持内存排序的字段
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "createTime", "username", "email", "status");
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Integer> docByUserId = new HashMap<>();
+
+    private final BitSet live = new BitSet();
+
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private long[] createTimes = new long[INITIAL_CAPACITY];
+    private int[] statuses = new int[INITIAL_CAPACITY];
+    private String[] usernames = new String[INITIAL_CAPACITY];
+    private String[] emails = new String[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+
+    /**
+     * 已分配的文档号数量（含失效文档）
+     */
+    private int docCount;
+
+    private int liveCount;
+
+    /**
+     * 索引或替换用户
+     */
+    void put(IndexedUser user) {
+        remove(user.id());
+
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        String text = normalize(user.username()) + FIELD_SEPARATOR + normalize(user.realName())
+                + FIELD_SEPARATOR + normalize(user.email()) + FIELD_SEPARATOR + normalize(user.phone());
+        userIds[doc] = user.id();
+        createTimes[doc] = user.createTime();
+        statuses[doc] = user.status();
+        usernames[doc] = user.username();
+        emails[doc] = user.email();
+        texts[doc] = text;
+        live.set(doc);
+        docByUserId.put(user.id(), doc);
+        liveCount++;
+
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            char a = text.charAt(i);
+            char b = text.charAt(i + 1);
+            char c = text.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+                continue;
+            }
+            postings.computeIfAbsent(trigram(a, b, c), key -> new Postings()).add(doc);
+        }
+    }
+
+    /**
+     * 移除用户，其文档号在倒排表中保留到下次压缩
+     */
+    void remove(long userId) {
+        Integer doc = docByUserId.remove(userId);
+        if (doc == null) {
+            return;
+        }
+        live.clear(doc);
+        usernames[doc] = null;
+        emails[doc] = null;
+        texts[doc] = null;
+        liveCount--;
+    }
+
+    /**
+     * 有效用户数
+     */
+    int size() {
+        return liveCount;
+    }
+
+    /**
+     * 失效文档数
+     */
+    int deadCount() {
+        return docCount - liveCount;
+    }
+
+    /**
+     * 失效文档超过有效文档时需要压缩
+     */
+    boolean needsCompaction() {
+        return deadCount() > INITIAL_CAPACITY && deadCount() > liveCount;
+    }
+
+    /**
+     * 只保留有效文档重建索引
+     */
+    TrigramIndex compact() {
+        TrigramIndex compacted = new TrigramIndex();
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            compacted.put(entryOf(doc));
+        }
+        return compacted;
+    }
+
+    /**
+     * 获取已索引的用户，不存在时返回null
+     * 真实姓名与手机号只保留了小写形式，重新索引不改变匹配结果
+     */
+    IndexedUser get(long userId) {
+        Integer doc = docByUserId.get(userId);
+        return doc == null ? null : entryOf(doc);
+    }
+
+    private IndexedUser entryOf(int doc) {
+        String[] fields = texts[doc].split(String.valueOf(FIELD_SEPARATOR), -1);
+        return new IndexedUser(userIds[doc], usernames[doc], fields[1], emails[doc], fields[3],
+                statuses[doc], createTimes[doc]);
+    }
+
+    /**
+     * 是否支持按给定排序在内存中分页
+     */
+    static boolean supports(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 查找包含关键词的全部文档
+     *
+     * @param keyword 已转小写的关键词
+     * @return 匹配的文档号
+     */
+    int[] match(String keyword) {
+        if (keyword.isEmpty()) {
+            return EMPTY;
+        }
+        if (keyword.length() < 3) {
+            return scan(keyword);
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= keyword.length(); i++) {
+            Postings list = postings.get(trigram(keyword.charAt(i), keyword.charAt(i + 1), keyword.charAt(i + 2)));
+            if (list == null) {
+                return EMPTY;
+            }
+            if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(candidates, count, lists.get(i));
+        }
+
+        int matched = 0;
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            if (live.get(doc) && texts[doc].contains(keyword)) {
+                candidates[matched++] = doc;
+            }
+        }
+        return Arrays.copyOf(candidates, matched);
+    }
+
+    /**
+     * 一两个字符的关键词无法使用三元组，直接扫描全部有效文档
+     */
+    private int[] scan(String keyword) {
+        int[] matches = new int[Math.min(liveCount, INITIAL_CAPACITY)];
+        int matched = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            if (texts[doc].contains(keyword)) {
+                if (matched == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.max(INITIAL_CAPACITY, matched * 2));
+                }
+                matches[matched++] = doc;
+            }
+        }
+        return Arrays.copyOf(matches, matched);
+    }
+
+    /**
+     * 原地求候选集与倒排表的交集（两者均为升序）
+     *
+     * @return 交集大小
+     */
+    private static int intersect(int[] candidates, int count, Postings list) {
+        int[] docs = list.docs;
+        int size = list.size;
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < size; i++) {
+            int doc = candidates[i];
+            while (j < size && docs[j] < doc) {
+                j++;
+            }
+            if (j < size && docs[j] == doc) {
+                candidates[kept++] = doc;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * 对匹配文档排序并取一页用户ID；只保留前 offset+size 个文档，避免对全部命中排序
+     */
+    List<Long> page(int[] matches, Sort sort, long offset, int size) {
+        if (offset >= matches.length || size <= 0) {
+            return List.of();
+        }
+        Comparator<Integer> comparator = comparator(sort);
+        int limit = (int) Math.min(matches.length, offset + size);
+
+        Integer[] top;
+        if (limit == matches.length) {
+            top = new Integer[matches.length];
+            for (int i = 0; i < matches.length; i++) {
+                top[i] = matches[i];
+            }
+        } else {
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit, comparator.reversed());
+            for (int doc : matches) {
+                if (heap.size() < limit) {
+                    heap.add(doc);
+                } else if (comparator.compare(doc, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            }
+            top = heap.toArray(new Integer[0]);
+        }
+        Arrays.sort(top, comparator);
+
+        List<Long> ids = new ArrayList<>(limit - (int) offset);
+        for (int i = (int) offset; i < limit; i++) {
+            ids.add(userIds[top[i]]);
+        }
+        return ids;
+    }
+
+    private Comparator<Integer> comparator(Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = switch (order.getProperty()) {
+                case "createTime" -> (a, b) -> Long.compare(createTimes[a], createTimes[b]);
+                case "username" -> (a, b) -> compareText(usernames[a], usernames[b]);
+                case "email" -> (a, b) -> compareText(emails[a], emails[b]);
+                case "status" -> (a, b) -> Integer.compare(statuses[a], statuses[b]);
+                default -> (a, b) -> Long.compare(userIds[a], userIds[b]);
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Integer> byId = (a, b) -> Long.compare(userIds[a], userIds[b]);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    /**
+     * 与MySQL默认排序规则近似：忽略大小写，NULL排在最前
+     */
+    private static int compareText(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= userIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, userIds.length * 2);
+        userIds = Arrays.copyOf(userIds, newCapacity);
+        createTimes = Arrays.copyOf(createTimes, newCapacity);
+        statuses = Arrays.copyOf(statuses, newCapacity);
+        usernames = Arrays.copyOf(usernames, newCapacity);
+        emails = Arrays.copyOf(emails, newCapacity);
+        texts = Arrays.copyOf(texts, newCapacity);
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * 升序文档号列表，同一文档的三元组连续写入，重复的尾部文档号直接跳过
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.miniservehub.search;
+
+import com.miniservehub.config.SearchProperties;
+import com.miniservehub.event.UserChangedEvent;
+import com.miniservehub.event.UsersImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 用户关键词搜索索引
+ * 启动时从数据库流式加载全部用户构建 {@link TrigramIndex} 与前缀补全用的 {@link PrefixTrie}，
+ * 之后按 {@link UserChangedEvent} 增量更新，并定期全量重建兜底。所有写入在单个后台线程上串行执行，不阻塞发布变更的业务线程；
+ * 查询持读锁在内存中完成匹配、计数与排序分页，只返回当前页的用户ID
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final String SELECT_SQL =
+            "SELECT id, username, real_name, email, phone, status, create_time FROM sys_user";
+
+    /**
+     * 增量加载时单条IN查询的最大ID数
+     */
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    /**
+     * 补全字段，编码在前缀树值的低2位（值 = 用户ID << 2 | 字段序号）
+     */
+    private static final String[] SUGGEST_FIELDS = {"username", "email", "phone"};
+
+    private static final int FIELD_BITS = 2;
+
+    /**
+     * 形如手机号的前缀（只含数字与常见分隔符），补全前去掉分隔符
+     */
+    private static final Pattern PHONE_LIKE = Pattern.compile("[0-9+\\-() ]+");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SearchProperties searchProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 流式读取用的JdbcTemplate（MySQL驱动在fetchSize为Integer.MIN_VALUE时逐行返回结果）
+     */
+    private JdbcTemplate streamingJdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 当前索引，构建完成前为null
+     */
+    private volatile TrigramIndex index;
+
+    /**
+     * 用户名、邮箱、手机号的前缀树，与索引同时构建和替换
+     */
+    private volatile PrefixTrie trie;
+
+    private ExecutorService indexer;
+
+    private Timer queryTimer;
+
+    private Timer suggestTimer;
+
+    private Counter fallbackCounter;
+
+    @PostConstruct
+    public void init() {
+        if (!searchProperties.isEnabled()) {
+            logger.info("用户搜索索引未启用，关键词搜索使用SQL模糊查询");
+            return;
+        }
+
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+        this.queryTimer = Timer.builder("user.search.query")
+                .description("索引内关键词匹配、计数与分页耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.suggestTimer = Timer.builder("user.search.suggest")
+                .description("前缀补全耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("user.search.fallback")
+                .description("回退到SQL模糊查询的次数")
+                .register(meterRegistry);
+        Gauge.builder("user.search.documents", this, service -> service.index == null ? 0 : service.index.size())
+                .description("索引中的有效用户数")
+                .register(meterRegistry);
+        Gauge.builder("user.search.suggest_entries", this, service -> service.trie == null ? 0 : service.trie.size())
+                .description("前缀树中的键值对数")
+                .register(meterRegistry);
+        Gauge.builder("user.search.dead_documents", this, service -> service.index == null ? 0 : service.index.deadCount())
+                .description("等待压缩的失效文档数")
+                .register(meterRegistry);
+
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexer.execute(this::rebuildQuietly);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (indexer != null) {
+            indexer.shutdownNow();
+        }
+    }
+
+    /**
+     * 在索引中搜索
+     *
+     * @param keyword 关键词
+     * @param pageable 分页与排序
+     * @return 当前页的用户ID与精确总数；索引未就绪或排序字段不支持时返回null，由调用方回退到SQL
+     */
+    public SearchPage search(String keyword, Pageable pageable) {
+        if (index == null || !TrigramIndex.supports(pageable.getSort())) {
+            if (fallbackCounter != null) {
+                fallbackCounter.increment();
+            }
+            return null;
+        }
+
+        String normalized = TrigramIndex.normalize(keyword);
+        lock.readLock().lock();
+        try {
+            return queryTimer.record(() -> {
+                int[] matches = index.match(normalized);
+                List<Long> userIds = index.page(matches, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+                return new SearchPage(userIds, matches.length);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按前缀补全用户名、邮箱与手机号
+     *
+     * @param prefix 前缀
+     * @param limit 最多返回条数
+     * @return 按字典序排列的补全结果；索引未就绪时返回null，由调用方回退到SQL
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (trie == null) {
+            return null;
+        }
+
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        if (PHONE_LIKE.matcher(normalized).matches()) {
+            normalized = digitsOf(normalized);
+        }
+        String key = normalized;
+        List<PrefixTrie.Match> matches = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            suggestTimer.record(() -> trie.collect(key, limit, matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(matches.size());
+        for (PrefixTrie.Match match : matches) {
+            suggestions.add(new Suggestion(match.value() >>> FIELD_BITS,
+                    SUGGEST_FIELDS[(int) (match.value() & ((1 << FIELD_BITS) - 1))], match.key()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * 用户变更后异步刷新索引中的对应条目
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (indexer == null) {
+            return;
+        }
+        List<Long> userIds = event.getUserIds();
+        indexer.execute(() -> {
+            try {
+                apply(userIds);
+            } catch (Exception e) {
+                logger.warn("用户搜索索引增量更新失败, userIds={}: {}", userIds, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 批量导入新增用户后全量重建一次，代替逐批按ID增量加载
+     */
+    @EventListener
+    public void onUsersImported(UsersImportedEvent event) {
+        if (indexer != null) {
+            indexer.execute(this::rebuildQuietly);
+        }
+    }
+
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(fixedDelayString = "#{@searchProperties.rebuildInterval.toMillis()}",
+            initialDelayString = "#{@searchProperties.rebuildInterval.toMillis()}")
+    public void scheduledRebuild() {
+        if (indexer != null) {
+            indexer.execute(this::rebuildQuietly);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("用户搜索索引重建失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从数据库流式加载全部用户构建新索引后整体替换
+     * 重建期间到达的变更在后台线程上排队，替换后再应用，不会丢失
+     */
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        TrigramIndex rebuilt = new TrigramIndex();
+        PrefixTrie rebuiltTrie = new PrefixTrie();
+        streamingJdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) rs -> {
+            IndexedUser user = mapRow(rs);
+            rebuilt.put(user);
+            putSuggestKeys(rebuiltTrie, user);
+        });
+        lock.writeLock().lock();
+        try {
+            this.index = rebuilt;
+            this.trie = rebuiltTrie;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("用户搜索索引已重建: users={}, elapsed={}ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 重新加载指定用户：仍存在的替换，已删除的移除
+     */
+    private void apply(List<Long> userIds) {
+        if (index == null) {
+            // 首次构建尚未完成，构建时会读到最新数据
+            return;
+        }
+
+        List<IndexedUser> loaded = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(userIds.size(), from + LOAD_CHUNK_SIZE));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            loaded.addAll(streamingJdbcTemplate.query(SELECT_SQL + " WHERE id IN (" + placeholders + ")",
+                    (rs, rowNum) -> mapRow(rs), chunk.toArray()));
+        }
+
+        Set<Long> removed = new HashSet<>(userIds);
+        lock.writeLock().lock();
+        try {
+            for (IndexedUser user : loaded) {
+                removeSuggestKeys(index.get(user.id()));
+                index.put(user);
+                putSuggestKeys(trie, user);
+                removed.remove(user.id());
+            }
+            for (Long userId : removed) {
+                removeSuggestKeys(index.get(userId));
+                index.remove(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // 只有本线程写索引，压缩时读取无需加锁
+        if (index.needsCompaction()) {
+            swap(index.compact());
+            logger.debug("用户搜索索引已压缩: users={}", index.size());
+        }
+    }
+
+    private void swap(TrigramIndex replacement) {
+        lock.writeLock().lock();
+        try {
+            this.index = replacement;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeSuggestKeys(IndexedUser user) {
+        if (user == null) {
+            return;
+        }
+        String[] keys = suggestKeys(user);
+        for (int field = 0; field < keys.length; field++) {
+            if (keys[field] != null) {
+                trie.remove(keys[field], (user.id() << FIELD_BITS) | field);
+            }
+        }
+    }
+
+    private static void putSuggestKeys(PrefixTrie target, IndexedUser user) {
+        String[] keys = suggestKeys(user);
+        for (int field = 0; field < keys.length; field++) {
+            if (keys[field] != null) {
+                target.put(keys[field], (user.id() << FIELD_BITS) | field);
+            }
+        }
+    }
+
+    /**
+     * 归一化的补全键：用户名与邮箱转小写，手机号只保留数字；顺序与 {@link #SUGGEST_FIELDS} 一致
+     */
+    private static String[] suggestKeys(IndexedUser user) {
+        String phone = user.phone() == null ? null : digitsOf(user.phone());
+        return new String[]{
+                emptyToNull(TrigramIndex.normalize(user.username())),
+                emptyToNull(TrigramIndex.normalize(user.email())),
+                emptyToNull(phone)
+        };
+    }
+
+    private static String digitsOf(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static IndexedUser mapRow(ResultSet rs) throws SQLException {
+        Timestamp createTime = rs.getTimestamp("create_time");
+        return new IndexedUser(rs.getLong("id"), rs.getString("username"), rs.getString("real_name"),
+                rs.getString("email"), rs.getString("phone"), rs.getInt("status"),
+                createTime != null ? createTime.getTime() : Long.MIN_VALUE);
+    }
+
+    /**
+     * 索引搜索结果
+     *
+     * @param userIds 当前页用户ID（已排序）
+     * @param total 匹配总数
+     */
+    public record SearchPage(List<Long> userIds, long total) {
+    }
+
+    /**
+     * 前缀补全结果
+     *
+     * @param userId 用户ID
+     * @param field 命中字段：username、email 或 phone
+     * @param value 归一化后的字段值
+     */
+    public record Suggestion(long userId, String field, String value) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.miniservehub.security;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 权限位集
+ * 以 {@link AuthorityRegistry} 分配的稠密编号为下标，AND/OR 判断只需逐字按位运算，不产生任何对象分配
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class AuthorityBits implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final AuthorityBits EMPTY = new AuthorityBits(new long[0]);
+
+    private final long[] words;
+
+    private AuthorityBits(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 由权限编号构建位集
+     */
+    public static AuthorityBits of(int[] ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        int max = 0;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : ids) {
+            words[id >>> 6] |= 1L << id;
+        }
+        return new AuthorityBits(words);
+    }
+
+    /**
+     * 是否包含指定编号
+     */
+    public boolean contains(int id) {
+        int index = id >>> 6;
+        return index < words.length && (words[index] & (1L << id)) != 0;
+    }
+
+    /**
+     * 是否包含掩码中的全部编号
+     */
+    public boolean containsAll(AuthorityBits mask) {
+        long[] required = mask.words;
+        for (int i = 0; i < required.length; i++) {
+            long word = required[i];
+            if (word == 0) {
+                continue;
+            }
+            if (i >= words.length || (words[i] & word) != word) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否包含掩码中的任一编号
+     */
+    public boolean containsAny(AuthorityBits mask) {
+        long[] required = mask.words;
+        int length = Math.min(words.length, required.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & required[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuthorityBits other)) {
+            return false;
+        }
+        int length = Math.max(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            long left = i < words.length ? words[i] : 0L;
+            long right = i < other.words.length ? other.words[i] : 0L;
+            if (left != right) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int end = words.length;
+        while (end > 0 && words[end - 1] == 0) {
+            end--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, end));
+    }
+}
@@ -0,0 +1,30 @@
+package com.miniservehub.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * 携带预编译权限位集的认证令牌
+ * 位集在认证时构建一次，后续注解鉴权直接按位判断
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public class AuthorityBitsAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient AuthorityBits authorityBits;
+
+    public AuthorityBitsAuthenticationToken(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                            AuthorityBits authorityBits) {
+        super(principal, null, authorities);
+        this.authorityBits = authorityBits;
+    }
+
+    public AuthorityBits getAuthorityBits() {
+        return authorityBits;
+    }
+}
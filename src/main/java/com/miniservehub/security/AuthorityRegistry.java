@@ -0,0 +1,83 @@
+package com.miniservehub.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限编号注册表
+ * 为每个权限码与角色（ROLE_前缀）分配进程内唯一的稠密整数编号，编号一经分配永不回收，
+ * 因此预编译的掩码与已构建的位集始终保持一致
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class AuthorityRegistry {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * 获取权限字符串对应的编号，首次出现时分配
+     */
+    public int idOf(String authority) {
+        Integer id = ids.get(authority);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(authority, key -> nextId.getAndIncrement());
+    }
+
+    /**
+     * 将授权集合编译为位集
+     */
+    public AuthorityBits bitsOf(Collection<? extends GrantedAuthority> authorities) {
+        int[] ids = new int[authorities.size()];
+        int count = 0;
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getAuthority() != null) {
+                ids[count++] = idOf(authority.getAuthority());
+            }
+        }
+        return AuthorityBits.of(count == ids.length ? ids : Arrays.copyOf(ids, count));
+    }
+
+    /**
+     * 获取认证信息的位集：优先使用认证时已构建的位集，其他来源现场编译
+     */
+    public AuthorityBits bitsOf(Authentication authentication) {
+        if (authentication instanceof AuthorityBitsAuthenticationToken token) {
+            return token.getAuthorityBits();
+        }
+        if (authentication.getPrincipal() instanceof LoginUser loginUser) {
+            return loginUser.getAuthorityBits();
+        }
+        return bitsOf(authentication.getAuthorities());
+    }
+
+    /**
+     * 将权限码（可带统一前缀，如 ROLE_）编译为掩码
+     */
+    public AuthorityBits bitsOf(String prefix, String[] codes) {
+        int[] ids = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            ids[i] = idOf(prefix + codes[i]);
+        }
+        return AuthorityBits.of(ids);
+    }
+
+    /**
+     * 已注册的权限数量
+     */
+    public int size() {
+        return ids.size();
+    }
+}
@@ -1,6 +1,5 @@
 package com.miniservehub.security;
 
-import com.miniservehub.service.CustomUserDetailsService;
 import com.miniservehub.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,7 +10,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -33,7 +31,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    @Autowired
+    private OpaqueTokenService opaqueTokenService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -41,27 +48,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
+        VerifiedToken verifiedToken = null;
 
-        // 提取JWT token
+        // 不透明令牌：本地缓存或Redis会话解析，不经过JWT校验
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && opaqueTokenService.isEnabled() && opaqueTokenService.isOpaqueToken(authorizationHeader.substring(7))) {
+            authenticateOpaqueToken(authorizationHeader.substring(7), request);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 提取并验证JWT token（仅解析一次）
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.getUsernameFromToken(jwt);
+                verifiedToken = jwtUtil.verifyToken(jwt);
+                if (tokenRevocationService.isRevoked(verifiedToken.getId())) {
+                    logger.warn("令牌已被吊销: subject={}", verifiedToken.getSubject());
+                    verifiedToken = null;
+                }
             } catch (Exception e) {
                 logger.error("JWT token解析失败: {}", e.getMessage());
             }
         }
 
-        // 验证token并设置认证信息
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // 设置认证信息
+        if (verifiedToken != null && verifiedToken.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = verifiedToken.getSubject();
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authToken;
+                if (jwtUtil.isStatelessAuthoritiesEnabled() && verifiedToken.hasEmbeddedAuthorities()) {
+                    authToken = authenticateFromClaims(verifiedToken);
+                } else {
+                    authToken = authenticateFromUserDetails(verifiedToken);
+                }
+
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     
@@ -74,4 +97,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * 不透明令牌鉴权：会话不存在或已过期时保持未认证
+     */
+    private void authenticateOpaqueToken(String token, HttpServletRequest request) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        try {
+            LoginUser loginUser = opaqueTokenService.resolve(token);
+            if (loginUser == null) {
+                logger.debug("不透明令牌无效或已过期");
+                return;
+            }
+            AuthorityBitsAuthenticationToken authToken = new AuthorityBitsAuthenticationToken(
+                    loginUser, loginUser.getAuthorities(), loginUser.getAuthorityBits());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            logger.debug("用户 {} 认证成功", loginUser.getUsername());
+        } catch (Exception e) {
+            logger.error("不透明令牌解析失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 无状态鉴权：直接使用令牌内嵌的角色与权限，不访问数据库
+     * 授权信息的陈旧程度以访问令牌有效期为上限
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken verifiedToken) {
+        Integer status = verifiedToken.getEmbeddedStatus();
+        if (status != null && status != 1) {
+            logger.warn("用户 {} 已被禁用，拒绝令牌", verifiedToken.getSubject());
+            return null;
+        }
+        LoginUser loginUser = verifiedToken.getEmbeddedPrincipal(authorityRegistry);
+        return new AuthorityBitsAuthenticationToken(loginUser, loginUser.getAuthorities(), loginUser.getAuthorityBits());
+    }
+
+    /**
+     * 基于数据库加载的用户信息鉴权
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(VerifiedToken verifiedToken) {
+        LoginUser loginUser = userDetailsCache.get(verifiedToken.getSubject());
+        if (!jwtUtil.validateToken(verifiedToken, loginUser)) {
+            return null;
+        }
+        return new AuthorityBitsAuthenticationToken(loginUser, loginUser.getAuthorities(), loginUser.getAuthorityBits());
+    }
 }
@@ -0,0 +1,133 @@
+package com.miniservehub.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 登录用户主体
+ * 存放在SecurityContext中的轻量不可变主体，只包含鉴权所需的字段；
+ * 授权集合来自RBAC快照中共享的角色授权，权限位集在构建时编译一次。
+ * 不携带密码，JPA实体只留在持久层
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class LoginUser implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Integer STATUS_ENABLED = 1;
+
+    private final Long id;
+
+    private final String username;
+
+    private final Integer status;
+
+    /**
+     * 用户数据版本（最后更新时间的毫秒值），未知时为0
+     */
+    private final long version;
+
+    private final Set<Long> roleIds;
+
+    private final Set<GrantedAuthority> authorities;
+
+    private final AuthorityBits authorityBits;
+
+    public LoginUser(Long id, String username, Integer status, long version, Set<Long> roleIds,
+                     Set<GrantedAuthority> authorities, AuthorityBits authorityBits) {
+        this.id = id;
+        this.username = username;
+        this.status = status;
+        this.version = version;
+        this.roleIds = Set.copyOf(roleIds);
+        this.authorities = authorities;
+        this.authorityBits = authorityBits;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<Long> getRoleIds() {
+        return roleIds;
+    }
+
+    public AuthorityBits getAuthorityBits() {
+        return authorityBits;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return status == null || STATUS_ENABLED.equals(status);
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return status == null || STATUS_ENABLED.equals(status);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LoginUser other)) {
+            return false;
+        }
+        return Objects.equals(id, other.id) && Objects.equals(username, other.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, username);
+    }
+
+    @Override
+    public String toString() {
+        return "LoginUser{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", status=" + status +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,270 @@
+package com.miniservehub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.config.JwtProperties;
+import com.miniservehub.event.UserChangedEvent;
+import com.miniservehub.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 不透明引用令牌服务
+ * 访问令牌为32字节随机数的Base64URL编码（43字符），Redis中以其SHA-256摘要为键保存紧凑会话记录：
+ * 用户ID、过期时间与用户名。解析先查本地TTL缓存，未命中才访问Redis；登出只需删除一个键，并广播让其他节点清除本地缓存。
+ * 主体（状态、角色与权限）每次解析都取自 {@link UserDetailsCache} 中的当前账户（该缓存随用户与RBAC变更在全集群失效），
+ * 因此角色调整在下一次请求即生效，用户被禁用或删除后其会话在下一次请求时即被结束
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class OpaqueTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpaqueTokenService.class);
+
+    /**
+     * 会话记录键前缀
+     */
+    private static final String SESSION_KEY_PREFIX = "auth:session:";
+
+    /**
+     * 会话结束广播频道（消息体为令牌摘要）
+     */
+    private static final String CHANNEL = "miniservehub:session-ended";
+
+    private static final String CACHE_NAME = "auth.opaque-sessions";
+
+    private static final String FIELD_SEPARATOR = "|";
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JwtProperties jwtProperties;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 本地会话缓存，键为令牌摘要
+     */
+    private Cache<String, Session> sessions;
+
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        AuthProperties.OpaqueToken config = authProperties.getOpaqueToken();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaximumSize())
+                .expireAfterWrite(config.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, CACHE_NAME);
+        redisMessageListenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        logger.info("不透明令牌模式已启用, cacheMaximumSize={}, cacheTtl={}",
+                config.getCacheMaximumSize(), config.getCacheTtl());
+    }
+
+    /**
+     * 是否启用不透明令牌模式
+     */
+    public boolean isEnabled() {
+        return AuthProperties.TOKEN_MODE_OPAQUE.equalsIgnoreCase(authProperties.getTokenMode());
+    }
+
+    /**
+     * 是否为不透明令牌（JWT必然包含'.'分隔符）
+     */
+    public boolean isOpaqueToken(String token) {
+        return token != null && !token.isEmpty() && token.indexOf('.') < 0;
+    }
+
+    /**
+     * 签发不透明访问令牌；刷新令牌仍为JWT，只在刷新时发送一次，无需缩短
+     */
+    public TokenPair issueTokenPair(LoginUser loginUser) {
+        long now = System.currentTimeMillis();
+        long accessExpiresAt = now + jwtProperties.getExpiration() * 1000;
+        long refreshExpiresAt = now + jwtProperties.getRefreshExpiration() * 1000;
+
+        byte[] random = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String accessToken = TOKEN_ENCODER.encodeToString(random);
+
+        Session session = new Session(loginUser.getId(), loginUser.getUsername(), accessExpiresAt);
+        String digest = digest(accessToken);
+        stringRedisTemplate.opsForValue().set(SESSION_KEY_PREFIX + digest, session.encode(),
+                Duration.ofMillis(accessExpiresAt - now));
+        sessions.put(digest, session);
+
+        return new TokenPair(accessToken, accessExpiresAt, jwtUtil.generateRefreshToken(loginUser), refreshExpiresAt);
+    }
+
+    /**
+     * 解析不透明令牌为登录用户，令牌不存在、已过期或账户已禁用时返回null
+     */
+    public LoginUser resolve(String token) {
+        ResolvedSession resolved = resolveSession(token);
+        return resolved == null ? null : resolved.loginUser();
+    }
+
+    /**
+     * 解析不透明令牌为登录用户及会话过期时间，令牌不存在、已过期或账户已禁用时返回null
+     */
+    public ResolvedSession resolveSession(String token) {
+        if (sessions == null) {
+            return null;
+        }
+        String digest = digest(token);
+        Session session = sessions.get(digest, this::loadSession);
+        if (session == null) {
+            return null;
+        }
+        if (session.expiresAt() <= System.currentTimeMillis()) {
+            sessions.invalidate(digest);
+            return null;
+        }
+
+        LoginUser account;
+        try {
+            account = userDetailsCache.get(session.username());
+        } catch (AuthenticationException e) {
+            account = null;
+        }
+        if (account == null || !account.isEnabled() || !session.userId().equals(account.getId())) {
+            logger.info("用户 {} 已禁用或不存在，结束其会话", session.username());
+            endSession(digest);
+            return null;
+        }
+        // 使用当前账户作为主体，不沿用签发时的角色
+        return new ResolvedSession(account, session.expiresAt());
+    }
+
+    /**
+     * 结束会话：删除Redis记录并通知所有节点清除本地缓存
+     *
+     * @return 会话是否存在
+     */
+    public boolean end(String token) {
+        if (sessions == null) {
+            return false;
+        }
+        return endSession(digest(token));
+    }
+
+    private boolean endSession(String digest) {
+        sessions.invalidate(digest);
+        boolean existed = Boolean.TRUE.equals(stringRedisTemplate.delete(SESSION_KEY_PREFIX + digest));
+        stringRedisTemplate.convertAndSend(CHANNEL, digest);
+        return existed;
+    }
+
+    /**
+     * 用户变更时清除其本地会话，下次解析从Redis重新加载
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (sessions == null) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>(event.getUserIds());
+        sessions.asMap().values().removeIf(session -> userIds.contains(session.userId()));
+    }
+
+    private Session loadSession(String digest) {
+        String value = stringRedisTemplate.opsForValue().get(SESSION_KEY_PREFIX + digest);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Session.decode(value);
+        } catch (RuntimeException e) {
+            logger.warn("会话记录格式错误, key={}: {}", SESSION_KEY_PREFIX + digest, e.getMessage());
+            return null;
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        sessions.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return TOKEN_ENCODER.encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * 会话记录，编码为 {@code userId|expiresAt|username}
+     * 用户名放在末尾，即使包含分隔符也能完整解析
+     */
+    private record Session(Long userId, String username, long expiresAt) {
+
+        String encode() {
+            return userId + FIELD_SEPARATOR + expiresAt + FIELD_SEPARATOR + username;
+        }
+
+        static Session decode(String value) {
+            String[] fields = value.split("\\|", 3);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("字段数量不正确");
+            }
+            return new Session(Long.valueOf(fields[0]), fields[2], Long.parseLong(fields[1]));
+        }
+    }
+
+    /**
+     * 解析结果
+     *
+     * @param loginUser 登录用户
+     * @param expiresAt 会话过期时间（毫秒）
+     */
+    public record ResolvedSession(LoginUser loginUser, long expiresAt) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.miniservehub.security;
+
+import com.miniservehub.config.AuthProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 密码编码器工厂
+ * 构建支持 {bcrypt}、{pbkdf2}、{argon2} 前缀的委托编码器，无前缀的历史哈希按BCrypt校验；
+ * 启动时在当前机器上测量哈希耗时，把BCrypt与Argon2的工作因子校准到目标耗时附近，
+ * 校准结果不会低于各算法的安全下限。这两种算法把参数写在哈希中，校准值变化不影响已有哈希的校验；
+ * PBKDF2哈希不含迭代次数，使用固定配置的迭代次数，保证各节点与每次重启后都能校验已有哈希
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class PasswordEncoderFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderFactory.class);
+
+    public static final String BCRYPT = "bcrypt";
+
+    public static final String PBKDF2 = "pbkdf2";
+
+    public static final String ARGON2 = "argon2";
+
+    private static final String SAMPLE_PASSWORD = "MiniServeHub-calibration";
+
+    private static final int MEASURE_ROUNDS = 3;
+
+    private static final int BCRYPT_MIN_STRENGTH = 10;
+
+    private static final int BCRYPT_MAX_STRENGTH = 16;
+
+    private static final int PBKDF2_SALT_LENGTH = 16;
+
+    private static final int PBKDF2_MIN_ITERATIONS = 310000;
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private static final int ARGON2_PARALLELISM = 1;
+
+    private static final int ARGON2_MEMORY_KB = 1 << 14;
+
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+
+    private static final int ARGON2_MAX_ITERATIONS = 64;
+
+    private PasswordEncoderFactory() {
+    }
+
+    /**
+     * 按策略创建委托编码器
+     */
+    public static PasswordEncoder create(AuthProperties.PasswordPolicy policy) {
+        String idForEncode = policy.getAlgorithm().toLowerCase(Locale.ROOT);
+        long targetNanos = policy.getTargetLatency().toNanos();
+        boolean calibrate = policy.isCalibrate();
+
+        BCryptPasswordEncoder bcrypt = BCRYPT.equals(idForEncode) && calibrate
+                ? calibrateBcrypt(targetNanos) : new BCryptPasswordEncoder(BCRYPT_MIN_STRENGTH);
+        Pbkdf2PasswordEncoder pbkdf2 = pbkdf2(policy.getPbkdf2Iterations());
+        if (policy.getPbkdf2Iterations() < PBKDF2_MIN_ITERATIONS) {
+            logger.warn("PBKDF2迭代次数 {} 低于建议下限 {}", policy.getPbkdf2Iterations(), PBKDF2_MIN_ITERATIONS);
+        }
+        Argon2PasswordEncoder argon2 = ARGON2.equals(idForEncode) && calibrate
+                ? calibrateArgon2(targetNanos) : argon2(ARGON2_MIN_ITERATIONS);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, pbkdf2);
+        encoders.put(ARGON2, argon2);
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("不支持的密码哈希算法: " + policy.getAlgorithm());
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * BCrypt每增加1耗时翻倍，以下限强度测得的耗时按2的幂外推
+     */
+    private static BCryptPasswordEncoder calibrateBcrypt(long targetNanos) {
+        long probeNanos = measure(new BCryptPasswordEncoder(BCRYPT_MIN_STRENGTH));
+        int strength = BCRYPT_MIN_STRENGTH;
+        while (strength < BCRYPT_MAX_STRENGTH && probeNanos << (strength + 1 - BCRYPT_MIN_STRENGTH) <= targetNanos) {
+            strength++;
+        }
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        logCalibration(BCRYPT, "strength=" + strength, encoder, targetNanos);
+        return encoder;
+    }
+
+    /**
+     * Argon2固定内存与并行度，按迭代次数线性外推
+     */
+    private static Argon2PasswordEncoder calibrateArgon2(long targetNanos) {
+        long probeNanos = measure(argon2(ARGON2_MIN_ITERATIONS));
+        long iterations = ARGON2_MIN_ITERATIONS * targetNanos / Math.max(1L, probeNanos);
+        int calibrated = (int) Math.min(ARGON2_MAX_ITERATIONS, Math.max(ARGON2_MIN_ITERATIONS, iterations));
+        Argon2PasswordEncoder encoder = argon2(calibrated);
+        logCalibration(ARGON2, "iterations=" + calibrated + ", memoryKb=" + ARGON2_MEMORY_KB, encoder, targetNanos);
+        return encoder;
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", PBKDF2_SALT_LENGTH, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                ARGON2_MEMORY_KB, iterations);
+    }
+
+    /**
+     * 预热一次后取多轮中的最短耗时，减少GC与JIT带来的抖动
+     */
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void logCalibration(String algorithm, String parameters, PasswordEncoder encoder, long targetNanos) {
+        logger.info("密码哈希校准完成: algorithm={}, {}, 实测耗时={}ms, 目标耗时={}ms",
+                algorithm, parameters, measure(encoder) / 1_000_000, targetNanos / 1_000_000);
+    }
+}
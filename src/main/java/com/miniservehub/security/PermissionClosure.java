@@ -0,0 +1,180 @@
+package com.miniservehub.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 权限闭包
+ * 预计算每个权限节点的后代集合（含自身），授予父权限即隐含其全部后代权限；
+ * 不可变对象，节点新增或移动时只复制并更新受影响祖先的后代集合
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class PermissionClosure {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionClosure.class);
+
+    public static final PermissionClosure EMPTY = new PermissionClosure(Map.of(), Map.of());
+
+    /**
+     * 节点 -> 父节点（父节点不在闭包中的节点视为根）
+     */
+    private final Map<Long, Long> parents;
+
+    /**
+     * 节点 -> 后代集合（含自身）
+     */
+    private final Map<Long, Set<Long>> descendants;
+
+    private PermissionClosure(Map<Long, Long> parents, Map<Long, Set<Long>> descendants) {
+        this.parents = parents;
+        this.descendants = descendants;
+    }
+
+    /**
+     * 由节点与父节点映射构建闭包；若上一版本闭包只是新增或移动了节点，则在其基础上增量更新
+     *
+     * @param previous 上一版本闭包，可为null
+     * @param parentIds 节点 -> 父节点（根节点的父节点为null或0）
+     */
+    public static PermissionClosure of(PermissionClosure previous, Map<Long, Long> parentIds) {
+        Map<Long, Long> normalized = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : parentIds.entrySet()) {
+            Long parentId = entry.getValue();
+            normalized.put(entry.getKey(),
+                    parentId != null && parentIds.containsKey(parentId) ? parentId : null);
+        }
+
+        if (previous == null || !normalized.keySet().containsAll(previous.parents.keySet())) {
+            return build(normalized);
+        }
+
+        // 先加入新节点（暂作根），再逐个移动到目标父节点；移动顺序导致的临时环路回退为全量构建
+        try {
+            PermissionClosure closure = previous;
+            for (Long id : normalized.keySet()) {
+                if (!closure.contains(id)) {
+                    closure = closure.withNode(id, null);
+                }
+            }
+            for (Map.Entry<Long, Long> entry : normalized.entrySet()) {
+                if (!Objects.equals(closure.parents.get(entry.getKey()), entry.getValue())) {
+                    closure = closure.withNode(entry.getKey(), entry.getValue());
+                }
+            }
+            return closure;
+        } catch (IllegalArgumentException e) {
+            return build(normalized);
+        }
+    }
+
+    /**
+     * 全量构建
+     */
+    private static PermissionClosure build(Map<Long, Long> parentIds) {
+        Map<Long, Set<Long>> descendants = new HashMap<>();
+        for (Long id : parentIds.keySet()) {
+            descendants.computeIfAbsent(id, key -> new HashSet<>()).add(id);
+            Set<Long> visited = new HashSet<>();
+            visited.add(id);
+            Long ancestor = parentIds.get(id);
+            while (ancestor != null && visited.add(ancestor)) {
+                descendants.computeIfAbsent(ancestor, key -> new HashSet<>()).add(id);
+                ancestor = parentIds.get(ancestor);
+            }
+            if (ancestor != null) {
+                logger.warn("权限树存在环路，节点 {} 的祖先链已截断", id);
+            }
+        }
+        Map<Long, Set<Long>> frozen = new HashMap<>();
+        descendants.forEach((id, set) -> frozen.put(id, Collections.unmodifiableSet(set)));
+        return new PermissionClosure(Collections.unmodifiableMap(new HashMap<>(parentIds)),
+                Collections.unmodifiableMap(frozen));
+    }
+
+    /**
+     * 新增节点或将节点（连同其子树）移动到新的父节点下，返回新闭包
+     * 只有旧祖先链与新祖先链上的后代集合被复制更新
+     *
+     * @throws IllegalArgumentException 新父节点位于该节点子树内（会形成环），或现有祖先链已存在环路
+     */
+    public PermissionClosure withNode(Long id, Long newParentId) {
+        Set<Long> subtree = descendants.getOrDefault(id, Set.of(id));
+        Long parentId = newParentId != null && descendants.containsKey(newParentId) ? newParentId : null;
+        if (parentId != null && subtree.contains(parentId)) {
+            throw new IllegalArgumentException("不能将权限 " + id + " 移动到其后代 " + parentId + " 之下");
+        }
+        // 后代集合在环路处被截断，不能单靠它判环，祖先链需逐级校验
+        List<Long> oldAncestors = ancestorChain(id, parents.get(id));
+        List<Long> newAncestors = ancestorChain(id, parentId);
+
+        Map<Long, Long> newParents = new HashMap<>(parents);
+        Map<Long, Set<Long>> newDescendants = new HashMap<>(descendants);
+        newDescendants.putIfAbsent(id, Set.of(id));
+
+        for (Long ancestor : oldAncestors) {
+            Set<Long> updated = new HashSet<>(newDescendants.get(ancestor));
+            updated.removeAll(subtree);
+            newDescendants.put(ancestor, Collections.unmodifiableSet(updated));
+        }
+
+        newParents.put(id, parentId);
+        for (Long ancestor : newAncestors) {
+            Set<Long> updated = new HashSet<>(newDescendants.get(ancestor));
+            updated.addAll(subtree);
+            newDescendants.put(ancestor, Collections.unmodifiableSet(updated));
+        }
+
+        return new PermissionClosure(Collections.unmodifiableMap(newParents),
+                Collections.unmodifiableMap(newDescendants));
+    }
+
+    /**
+     * 从指定父节点起向上收集祖先链
+     *
+     * @throws IllegalArgumentException 祖先链回到该节点自身或存在环路
+     */
+    private List<Long> ancestorChain(Long id, Long parentId) {
+        List<Long> chain = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        for (Long ancestor = parentId; ancestor != null; ancestor = parents.get(ancestor)) {
+            if (ancestor.equals(id) || !visited.add(ancestor)) {
+                throw new IllegalArgumentException("权限 " + id + " 的祖先链存在环路");
+            }
+            chain.add(ancestor);
+        }
+        return chain;
+    }
+
+    public boolean contains(Long id) {
+        return descendants.containsKey(id);
+    }
+
+    /**
+     * 节点的全部后代（含自身），节点不存在时为空集
+     */
+    public Set<Long> descendantsOf(Long id) {
+        return descendants.getOrDefault(id, Set.of());
+    }
+
+    /**
+     * 祖先节点是否覆盖（等于或为其祖先）目标节点
+     */
+    public boolean implies(Long ancestorId, Long id) {
+        return descendantsOf(ancestorId).contains(id);
+    }
+
+    public Long parentOf(Long id) {
+        return parents.get(id);
+    }
+}
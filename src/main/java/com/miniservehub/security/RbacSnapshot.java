@@ -0,0 +1,196 @@
+package com.miniservehub.security;
+
+import com.miniservehub.entity.Permission;
+import com.miniservehub.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RBAC内存快照
+ * 启用状态的角色、权限及其关联关系的不可变视图，按角色ID解析权限时不访问数据库；
+ * 变更时整体重建并替换，读取方无需加锁
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class RbacSnapshot {
+
+    public static final RbacSnapshot EMPTY = new RbacSnapshot(0L, Map.of(), Map.of(), Map.of(), PermissionClosure.EMPTY);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final long version;
+
+    private final Map<Long, RoleView> rolesById;
+
+    private final Map<String, RoleView> rolesByCode;
+
+    private final Map<Long, PermissionView> permissionsById;
+
+    private final PermissionClosure closure;
+
+    private RbacSnapshot(long version, Map<Long, RoleView> rolesById, Map<String, RoleView> rolesByCode,
+                         Map<Long, PermissionView> permissionsById, PermissionClosure closure) {
+        this.version = version;
+        this.rolesById = rolesById;
+        this.rolesByCode = rolesByCode;
+        this.permissionsById = permissionsById;
+        this.closure = closure;
+    }
+
+    /**
+     * 由启用的角色（权限已加载）与启用的权限构建快照
+     * 角色的权限码按权限闭包展开：授予父权限即包含其全部启用的后代权限
+     *
+     * @param previous 上一版本快照，用于增量更新权限闭包
+     */
+    public static RbacSnapshot build(long version, Collection<Role> roles, Collection<Permission> permissions,
+                                     RbacSnapshot previous) {
+        Map<Long, PermissionView> permissionsById = new HashMap<>();
+        Map<Long, Long> parentIds = new HashMap<>();
+        for (Permission permission : permissions) {
+            permissionsById.put(permission.getId(), PermissionView.of(permission));
+            parentIds.put(permission.getId(), permission.getParentId());
+        }
+        PermissionClosure closure = PermissionClosure.of(previous != null ? previous.closure : null, parentIds);
+
+        Map<Long, RoleView> rolesById = new HashMap<>();
+        Map<String, RoleView> rolesByCode = new HashMap<>();
+        for (Role role : roles) {
+            Set<String> permissionCodes = new HashSet<>();
+            for (Permission permission : role.getPermissions()) {
+                for (Long grantedId : closure.descendantsOf(permission.getId())) {
+                    permissionCodes.add(permissionsById.get(grantedId).permissionCode());
+                }
+            }
+            RoleView view = RoleView.of(role, permissionCodes);
+            rolesById.put(view.id(), view);
+            rolesByCode.put(view.roleCode(), view);
+        }
+
+        return new RbacSnapshot(version, Collections.unmodifiableMap(rolesById),
+                Collections.unmodifiableMap(rolesByCode), Collections.unmodifiableMap(permissionsById), closure);
+    }
+
+    /**
+     * 内容是否与另一快照一致（忽略版本号）
+     */
+    public boolean sameContentAs(RbacSnapshot other) {
+        return rolesById.equals(other.rolesById) && permissionsById.equals(other.permissionsById);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public RoleView getRole(Long roleId) {
+        return rolesById.get(roleId);
+    }
+
+    public RoleView getRoleByCode(String roleCode) {
+        return rolesByCode.get(roleCode);
+    }
+
+    public PermissionView getPermission(Long permissionId) {
+        return permissionsById.get(permissionId);
+    }
+
+    /**
+     * 权限闭包
+     */
+    public PermissionClosure getClosure() {
+        return closure;
+    }
+
+    public Collection<RoleView> getRoles() {
+        return rolesById.values();
+    }
+
+    public Collection<PermissionView> getPermissions() {
+        return permissionsById.values();
+    }
+
+    /**
+     * 解析角色集合的授权（ROLE_角色码 + 权限码），停用或不存在的角色被忽略
+     */
+    public Set<GrantedAuthority> authoritiesOf(Collection<Long> roleIds) {
+        if (roleIds.size() == 1) {
+            RoleView role = rolesById.get(roleIds.iterator().next());
+            return role != null ? role.authorities() : Set.of();
+        }
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (Long roleId : roleIds) {
+            RoleView role = rolesById.get(roleId);
+            if (role != null) {
+                authorities.addAll(role.authorities());
+            }
+        }
+        return Collections.unmodifiableSet(authorities);
+    }
+
+    /**
+     * 解析角色集合的角色码
+     */
+    public Set<String> roleCodesOf(Collection<Long> roleIds) {
+        Set<String> roleCodes = new LinkedHashSet<>();
+        for (Long roleId : roleIds) {
+            RoleView role = rolesById.get(roleId);
+            if (role != null) {
+                roleCodes.add(role.roleCode());
+            }
+        }
+        return roleCodes;
+    }
+
+    /**
+     * 解析角色集合的权限码
+     */
+    public Set<String> permissionCodesOf(Collection<Long> roleIds) {
+        Set<String> permissionCodes = new HashSet<>();
+        for (Long roleId : roleIds) {
+            RoleView role = rolesById.get(roleId);
+            if (role != null) {
+                permissionCodes.addAll(role.permissionCodes());
+            }
+        }
+        return permissionCodes;
+    }
+
+    /**
+     * 角色视图
+     */
+    public record RoleView(Long id, String roleCode, String roleName, Integer sortOrder,
+                           Set<String> permissionCodes, Set<GrantedAuthority> authorities) {
+
+        static RoleView of(Role role, Set<String> permissionCodes) {
+            Set<GrantedAuthority> authorities = new HashSet<>();
+            authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role.getRoleCode()));
+            for (String code : permissionCodes) {
+                authorities.add(new SimpleGrantedAuthority(code));
+            }
+            return new RoleView(role.getId(), role.getRoleCode(), role.getRoleName(), role.getSortOrder(),
+                    Set.copyOf(permissionCodes), Set.copyOf(authorities));
+        }
+    }
+
+    /**
+     * 权限视图
+     */
+    public record PermissionView(Long id, String permissionCode, String permissionName, Integer permissionType,
+                                 Long parentId, String permissionPath, String httpMethod, Integer sortOrder) {
+
+        static PermissionView of(Permission permission) {
+            return new PermissionView(permission.getId(), permission.getPermissionCode(),
+                    permission.getPermissionName(), permission.getPermissionType(), permission.getParentId(),
+                    permission.getPermissionPath(), permission.getHttpMethod(), permission.getSortOrder());
+        }
+    }
+}
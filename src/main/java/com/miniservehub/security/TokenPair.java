@@ -0,0 +1,22 @@
+package com.miniservehub.security;
+
+/**
+ * 一次签发的访问令牌与刷新令牌
+ * 过期时间直接取自签发时使用的值，无需再解析刚生成的令牌
+ * 
+ * @param accessToken 访问令牌
+ * @param accessExpiresAt 访问令牌过期时间（毫秒时间戳）
+ * @param refreshToken 刷新令牌
+ * @param refreshExpiresAt 刷新令牌过期时间（毫秒时间戳）
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public record TokenPair(String accessToken, long accessExpiresAt, String refreshToken, long refreshExpiresAt) {
+
+    /**
+     * 访问令牌有效期（秒）
+     */
+    public long accessExpiresIn() {
+        return Math.max(0, (accessExpiresAt - System.currentTimeMillis()) / 1000);
+    }
+}
@@ -0,0 +1,298 @@
+package com.miniservehub.security;
+
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 令牌吊销服务
+ * 吊销记录以jti为键存入Redis（TTL为令牌剩余有效期），同时维护一个按有序集合索引定期重建的本地布隆过滤器：
+ * 未吊销的常规路径只做内存判断，只有布隆过滤器命中时才访问Redis确认
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * 吊销记录键前缀
+     */
+    private static final String REVOKED_KEY_PREFIX = "auth:revoked:";
+
+    /**
+     * 吊销索引（有序集合，成员为jti，分值为令牌过期时间）
+     */
+    private static final String REVOKED_INDEX_KEY = "auth:revoked-index";
+
+    /**
+     * 吊销广播频道
+     */
+    private static final String CHANNEL = "miniservehub:token-revoked";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * 正在重建、尚未生效的过滤器，未在重建时为null
+     */
+    private volatile BloomFilter rebuildingFilter;
+
+    private Counter bloomNegativeCounter;
+    private Counter confirmedCounter;
+    private Counter falsePositiveCounter;
+
+    @PostConstruct
+    public void init() {
+        AuthProperties.Revocation config = authProperties.getRevocation();
+        this.bloomFilter = new BloomFilter(config.getExpectedInsertions(), config.getFalsePositiveProbability());
+
+        this.bloomNegativeCounter = Counter.builder("auth.revocation.checks")
+                .tag("result", "bloom_negative")
+                .description("布隆过滤器直接判定未吊销的次数")
+                .register(meterRegistry);
+        this.confirmedCounter = Counter.builder("auth.revocation.checks")
+                .tag("result", "revoked")
+                .description("经Redis确认已吊销的次数")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("auth.revocation.checks")
+                .tag("result", "false_positive")
+                .description("布隆过滤器命中但Redis确认未吊销的次数")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.false_positive_rate", this, TokenRevocationService::observedFalsePositiveRate)
+                .description("布隆过滤器命中中误判的比例")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.expected_fpp", this, service -> service.bloomFilter.expectedFalsePositiveProbability())
+                .description("按当前插入量估算的布隆过滤器误判率")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.entries", this, service -> service.bloomFilter.getInsertions())
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+
+        try {
+            rebuildBloomFilter();
+        } catch (Exception e) {
+            logger.warn("启动时同步吊销列表失败，将在下次定时同步时重试: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 吊销令牌，记录保留到令牌自然过期
+     *
+     * @return 是否成功吊销
+     */
+    public boolean revoke(VerifiedToken verifiedToken) {
+        String tokenId = verifiedToken.getId();
+        if (tokenId == null) {
+            logger.warn("令牌缺少jti，无法吊销: {}", verifiedToken.getSubject());
+            return false;
+        }
+
+        long remainingMillis = verifiedToken.getExpirationMillis() - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return true;
+        }
+
+        stringRedisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + tokenId, verifiedToken.getSubject(),
+                Duration.ofMillis(remainingMillis));
+        publishRevocation(tokenId, verifiedToken.getExpirationMillis());
+
+        logger.info("令牌已吊销: subject={}, jti={}", verifiedToken.getSubject(), tokenId);
+        return true;
+    }
+
+    /**
+     * 一次性消费令牌（刷新令牌轮换）：原子地检查并吊销，并发使用同一令牌时只有一方成功
+     *
+     * @return 本次是否成功消费；令牌已被吊销、已过期或缺少jti时返回false
+     */
+    public boolean consume(VerifiedToken verifiedToken) {
+        String tokenId = verifiedToken.getId();
+        if (tokenId == null) {
+            logger.warn("令牌缺少jti，无法消费: {}", verifiedToken.getSubject());
+            return false;
+        }
+
+        long remainingMillis = verifiedToken.getExpirationMillis() - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return false;
+        }
+
+        Boolean first = stringRedisTemplate.opsForValue().setIfAbsent(REVOKED_KEY_PREFIX + tokenId,
+                verifiedToken.getSubject(), Duration.ofMillis(remainingMillis));
+        if (!Boolean.TRUE.equals(first)) {
+            confirmedCounter.increment();
+            logger.warn("已吊销或已使用的令牌被再次使用: subject={}, jti={}", verifiedToken.getSubject(), tokenId);
+            return false;
+        }
+        publishRevocation(tokenId, verifiedToken.getExpirationMillis());
+        return true;
+    }
+
+    /**
+     * 写入吊销索引、本地布隆过滤器并广播到其他节点
+     */
+    private void publishRevocation(String tokenId, long expirationMillis) {
+        stringRedisTemplate.opsForZSet().add(REVOKED_INDEX_KEY, tokenId, expirationMillis);
+        recordRevoked(tokenId);
+        stringRedisTemplate.convertAndSend(CHANNEL, tokenId);
+    }
+
+    /**
+     * 令牌是否已被吊销
+     * Redis不可用且布隆过滤器命中时按已吊销处理
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(tokenId)) {
+            bloomNegativeCounter.increment();
+            return false;
+        }
+
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(REVOKED_KEY_PREFIX + tokenId))) {
+                confirmedCounter.increment();
+                return true;
+            }
+            falsePositiveCounter.increment();
+            return false;
+        } catch (Exception e) {
+            logger.error("查询令牌吊销状态失败, jti={}: {}", tokenId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 批量查询已吊销的令牌ID
+     * 布隆过滤器先排除绝大多数令牌，剩余候选只发起一次Redis MGET；Redis不可用时候选全部按已吊销处理
+     *
+     * @param tokenIds 令牌ID
+     * @return 其中已吊销的令牌ID
+     */
+    public Set<String> findRevoked(Collection<String> tokenIds) {
+        List<String> candidates = new ArrayList<>();
+        for (String tokenId : tokenIds) {
+            if (tokenId == null) {
+                continue;
+            }
+            if (bloomFilter.mightContain(tokenId)) {
+                candidates.add(tokenId);
+            } else {
+                bloomNegativeCounter.increment();
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> keys = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            keys.add(REVOKED_KEY_PREFIX + candidate);
+        }
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            Set<String> revoked = new HashSet<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (values != null && values.get(i) != null) {
+                    revoked.add(candidates.get(i));
+                    confirmedCounter.increment();
+                } else {
+                    falsePositiveCounter.increment();
+                }
+            }
+            return revoked;
+        } catch (Exception e) {
+            logger.error("批量查询令牌吊销状态失败, 候选数={}: {}", candidates.size(), e.getMessage());
+            return new HashSet<>(candidates);
+        }
+    }
+
+    /**
+     * 定时重建布隆过滤器：清理已过期的吊销记录，并在吊销量超过容量时按需扩容，
+     * 避免过滤器因累积过期元素而误判率持续上升
+     */
+    @Scheduled(fixedDelayString = "#{@authProperties.revocation.syncInterval.toMillis()}",
+            initialDelayString = "#{@authProperties.revocation.syncInterval.toMillis()}")
+    public synchronized void rebuildBloomFilter() {
+        long now = System.currentTimeMillis();
+        stringRedisTemplate.opsForZSet().removeRangeByScore(REVOKED_INDEX_KEY, 0, now);
+        Long indexSize = stringRedisTemplate.opsForZSet().zCard(REVOKED_INDEX_KEY);
+
+        AuthProperties.Revocation config = authProperties.getRevocation();
+        long capacity = Math.max(config.getExpectedInsertions(), (indexSize == null ? 0 : indexSize) * 2L);
+        BloomFilter rebuilt = new BloomFilter(capacity, config.getFalsePositiveProbability());
+
+        // 先公开新过滤器再读取索引：此后到达的吊销同时写入新旧过滤器，此前的吊销已在索引中（先写索引后广播）
+        this.rebuildingFilter = rebuilt;
+        try {
+            Set<String> tokenIds = stringRedisTemplate.opsForZSet().range(REVOKED_INDEX_KEY, 0, -1);
+            if (tokenIds != null) {
+                tokenIds.forEach(rebuilt::put);
+            }
+            this.bloomFilter = rebuilt;
+        } finally {
+            this.rebuildingFilter = null;
+        }
+        logger.debug("吊销布隆过滤器已重建: entries={}, capacity={}", rebuilt.getInsertions(), capacity);
+    }
+
+    /**
+     * 记录已吊销的jti
+     * 先读重建中的过滤器再读当前过滤器：重建结束时先替换当前过滤器再清空重建引用，因此至少会写入最终生效的过滤器
+     */
+    private void recordRevoked(String tokenId) {
+        BloomFilter rebuilding = rebuildingFilter;
+        if (rebuilding != null) {
+            rebuilding.put(tokenId);
+        }
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * 实际观测到的误判比例
+     */
+    private double observedFalsePositiveRate() {
+        double positives = confirmedCounter.count() + falsePositiveCounter.count();
+        return positives == 0 ? 0 : falsePositiveCounter.count() / positives;
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        recordRevoked(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
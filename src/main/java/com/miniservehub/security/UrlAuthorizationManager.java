@@ -0,0 +1,106 @@
+package com.miniservehub.security;
+
+import com.miniservehub.event.RbacSnapshotRebuiltEvent;
+import com.miniservehub.service.RbacSnapshotService;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.function.Supplier;
+
+/**
+ * 数据驱动的URL鉴权管理器
+ * 将启用的接口类权限（permissionType=3）按 httpMethod 与 permissionPath 编译为 {@link UrlPermissionTrie}，
+ * 请求命中路由时要求用户拥有该路由任一权限码；未命中任何路由时弃权（返回null），由调用方回退到静态规则。
+ * RBAC快照更新后整体重建并替换
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UrlAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlAuthorizationManager.class);
+
+    private static final Integer PERMISSION_TYPE_INTERFACE = 3;
+
+    @Autowired
+    private RbacSnapshotService rbacSnapshotService;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    private volatile UrlPermissionTrie trie = UrlPermissionTrie.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        rebuild(rbacSnapshotService.getSnapshot());
+    }
+
+    @EventListener
+    public void onRbacSnapshotRebuilt(RbacSnapshotRebuiltEvent event) {
+        rebuild(event.getSnapshot());
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        UrlPermissionTrie.Route route = findRoute(request.getMethod(), pathWithinApplication(request));
+        if (route == null) {
+            return null;
+        }
+
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated() || current instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+        boolean allowed = authorityRegistry.bitsOf(current).containsAny(route.mask());
+        if (!allowed) {
+            logger.debug("用户 {} 访问 {} {} 被拒绝，需要权限: {}", current.getName(),
+                    request.getMethod(), route.pattern(), route.permissionCodes());
+        }
+        return new AuthorizationDecision(allowed);
+    }
+
+    /**
+     * 查询守护该请求的路由
+     *
+     * @param httpMethod HTTP方法
+     * @param path 应用内路径（不含上下文路径）
+     * @return 匹配的路由，未被任何接口权限守护时返回null
+     */
+    public UrlPermissionTrie.Route findRoute(String httpMethod, String path) {
+        return trie.match(httpMethod, path);
+    }
+
+    private void rebuild(RbacSnapshot snapshot) {
+        UrlPermissionTrie.Builder builder = UrlPermissionTrie.builder();
+        for (RbacSnapshot.PermissionView permission : snapshot.getPermissions()) {
+            if (PERMISSION_TYPE_INTERFACE.equals(permission.permissionType())
+                    && permission.permissionPath() != null && !permission.permissionPath().isBlank()) {
+                builder.add(permission.httpMethod(), permission.permissionPath().trim(), permission.permissionCode());
+            }
+        }
+        UrlPermissionTrie rebuilt = builder.build(authorityRegistry);
+        this.trie = rebuilt;
+        logger.info("URL鉴权路由已更新: RBAC版本={}, 路由数={}", snapshot.getVersion(), rebuilt.getRouteCount());
+    }
+
+    /**
+     * 与Spring Security、Spring MVC一致地解析应用内路径（URL解码、去除分号参数、合并重复斜杠），
+     * 避免以百分号编码等形式绕过数据库配置的路由
+     */
+    private String pathWithinApplication(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+}
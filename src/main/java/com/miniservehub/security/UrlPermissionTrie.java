@@ -0,0 +1,203 @@
+package com.miniservehub.security;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 接口权限路径前缀树
+ * 按HTTP方法分别建树，支持字面段、{var}（或 *）单段变量与 ** 多段通配；
+ * 匹配优先级为 字面段 > 单段变量 > 多段通配，不含 ** 的路由匹配耗时只与路径段数成正比。
+ * 构建后不可变，权限变更时整体重建替换
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class UrlPermissionTrie {
+
+    public static final UrlPermissionTrie EMPTY = new UrlPermissionTrie(Map.of(), new Node(), 0);
+
+    /**
+     * 不限方法的路由使用的方法标识
+     */
+    private static final String ANY_METHOD = "*";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final Map<String, Node> methodRoots;
+
+    private final Node anyMethodRoot;
+
+    private final int routeCount;
+
+    private UrlPermissionTrie(Map<String, Node> methodRoots, Node anyMethodRoot, int routeCount) {
+        this.methodRoots = methodRoots;
+        this.anyMethodRoot = anyMethodRoot;
+        this.routeCount = routeCount;
+    }
+
+    /**
+     * 匹配结果：守护该请求的权限码与预编译的权限掩码
+     */
+    public record Route(String pattern, Set<String> permissionCodes, AuthorityBits mask) {
+    }
+
+    /**
+     * 构建器，同一方法与路径的多个权限合并为“任一即可”
+     */
+    public static final class Builder {
+
+        private final Map<String, Node> methodRoots = new HashMap<>();
+
+        private final Node anyMethodRoot = new Node();
+
+        private final Map<Node, String> patterns = new HashMap<>();
+
+        private final Map<Node, Set<String>> codes = new HashMap<>();
+
+        /**
+         * 注册路由
+         *
+         * @param httpMethod HTTP方法，为空或 * 表示不限方法
+         * @param pattern 路径模式（不含上下文路径）
+         * @param permissionCode 权限码
+         */
+        public Builder add(String httpMethod, String pattern, String permissionCode) {
+            Node node = rootFor(httpMethod);
+            for (String segment : split(pattern)) {
+                node = node.childFor(segment);
+            }
+            patterns.putIfAbsent(node, pattern);
+            codes.computeIfAbsent(node, key -> new LinkedHashSet<>()).add(permissionCode);
+            return this;
+        }
+
+        public UrlPermissionTrie build(AuthorityRegistry registry) {
+            for (Map.Entry<Node, Set<String>> entry : codes.entrySet()) {
+                Set<String> permissionCodes = Set.copyOf(entry.getValue());
+                entry.getKey().route = new Route(patterns.get(entry.getKey()), permissionCodes,
+                        registry.bitsOf("", permissionCodes.toArray(new String[0])));
+            }
+            return new UrlPermissionTrie(Map.copyOf(methodRoots), anyMethodRoot, codes.size());
+        }
+
+        private Node rootFor(String httpMethod) {
+            if (httpMethod == null || httpMethod.isBlank() || ANY_METHOD.equals(httpMethod.trim())) {
+                return anyMethodRoot;
+            }
+            return methodRoots.computeIfAbsent(httpMethod.trim().toUpperCase(Locale.ROOT), key -> new Node());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 查找守护该请求的路由，优先匹配指定方法的路由，其次是不限方法的路由
+     *
+     * @return 匹配的路由，没有路由守护该请求时返回null
+     */
+    public Route match(String httpMethod, String path) {
+        if (routeCount == 0) {
+            return null;
+        }
+        List<String> segments = split(path);
+        Node methodRoot = httpMethod != null ? methodRoots.get(httpMethod.toUpperCase(Locale.ROOT)) : null;
+        if (methodRoot != null) {
+            Route route = match(methodRoot, segments, 0);
+            if (route != null) {
+                return route;
+            }
+        }
+        return match(anyMethodRoot, segments, 0);
+    }
+
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    private static Route match(Node node, List<String> segments, int index) {
+        if (index == segments.size()) {
+            if (node.route != null) {
+                return node.route;
+            }
+            // 末尾的 ** 可匹配零个段
+            return node.doubleWildcard != null ? node.doubleWildcard.route : null;
+        }
+
+        String segment = segments.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            Route route = match(literal, segments, index + 1);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (node.variable != null) {
+            Route route = match(node.variable, segments, index + 1);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (node.doubleWildcard != null) {
+            // ** 依次尝试吞掉 0..n 个段，优先让后续更具体的段参与匹配
+            for (int next = index; next <= segments.size(); next++) {
+                Route route = match(node.doubleWildcard, segments, next);
+                if (route != null) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+
+        private Node variable;
+
+        private Node doubleWildcard;
+
+        private Route route;
+
+        private Node childFor(String segment) {
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                if (doubleWildcard == null) {
+                    doubleWildcard = new Node();
+                }
+                return doubleWildcard;
+            }
+            if ("*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                if (variable == null) {
+                    variable = new Node();
+                }
+                return variable;
+            }
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.miniservehub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.event.RbacSnapshotRebuiltEvent;
+import com.miniservehub.event.UserChangedEvent;
+import com.miniservehub.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 用户详情本地缓存（缓存 {@link LoginUser} 主体）
+ * 位于 {@link CustomUserDetailsService#loadUserByUsername} 之前，按TTL和容量淘汰，
+ * 收到 {@link UserChangedEvent}（含其他节点经Redis广播的变更）时立即失效对应用户
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private static final String CACHE_NAME = "auth.user-details";
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, LoginUser> cache;
+
+    @PostConstruct
+    public void init() {
+        AuthProperties.UserCache config = authProperties.getUserCache();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        logger.info("用户详情本地缓存已启用, maximumSize={}, ttl={}", config.getMaximumSize(), config.getTtl());
+    }
+
+    /**
+     * 获取用户详情，未命中时从数据库加载
+     * 用户不存在或已禁用时抛出的异常不会被缓存
+     */
+    public LoginUser get(String username) {
+        if (cache == null) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * 用户变更时失效缓存
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (cache == null) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>(event.getUserIds());
+        cache.asMap().values().removeIf(loginUser -> userIds.contains(loginUser.getId()));
+        logger.debug("用户详情缓存已失效: {}", userIds);
+    }
+
+    /**
+     * RBAC快照变化后缓存用户的授权已过期，整体失效
+     */
+    @EventListener
+    public void onRbacSnapshotRebuilt(RbacSnapshotRebuiltEvent event) {
+        if (cache == null) {
+            return;
+        }
+        cache.invalidateAll();
+        logger.debug("RBAC快照更新至版本 {}，用户详情缓存已清空", event.getSnapshot().getVersion());
+    }
+}
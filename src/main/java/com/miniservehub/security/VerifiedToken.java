@@ -0,0 +1,196 @@
+package com.miniservehub.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 已验证令牌
+ * 签名与过期时间校验通过后的不可变结果，一次解析后在整个请求链路中复用
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public final class VerifiedToken {
+
+    /**
+     * 刷新令牌类型标识
+     */
+    public static final String TYPE_REFRESH = "refresh";
+
+    /**
+     * 内嵌授权声明：用户ID、状态、版本、角色编码、权限编码
+     */
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_STATUS = "sts";
+    public static final String CLAIM_VERSION = "ver";
+    public static final String CLAIM_ROLES = "rls";
+    public static final String CLAIM_PERMISSIONS = "pms";
+
+    /**
+     * 编码分隔符
+     */
+    public static final String CODE_SEPARATOR = ",";
+
+    /**
+     * 角色权限前缀
+     */
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private final String id;
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final String type;
+    private final Claims claims;
+
+    /**
+     * 从内嵌声明解码出的权限，首次访问时解码（令牌被缓存时只解码一次）
+     */
+    private volatile List<GrantedAuthority> embeddedAuthorities;
+
+    /**
+     * 由内嵌声明构建的主体（惰性构建，令牌缓存命中时复用）
+     */
+    private volatile LoginUser embeddedPrincipal;
+
+    public VerifiedToken(Claims claims) {
+        this.id = claims.getId();
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.type = claims.get("type", String.class);
+        this.claims = claims;
+    }
+
+    /**
+     * 令牌唯一标识（jti），早期签发的令牌可能为null
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return new Date(expiration.getTime());
+    }
+
+    /**
+     * 过期时间（毫秒时间戳）
+     */
+    public long getExpirationMillis() {
+        return expiration.getTime();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * 令牌中的全部声明（只读）
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * 获取指定声明
+     */
+    public <T> T getClaim(String name, Class<T> requiredType) {
+        return claims.get(name, requiredType);
+    }
+
+    /**
+     * 是否为刷新令牌
+     */
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+
+    /**
+     * 是否内嵌了角色与权限
+     */
+    public boolean hasEmbeddedAuthorities() {
+        return claims.containsKey(CLAIM_ROLES);
+    }
+
+    /**
+     * 内嵌的用户状态，未内嵌时返回null
+     */
+    public Integer getEmbeddedStatus() {
+        return claims.get(CLAIM_STATUS, Integer.class);
+    }
+
+    /**
+     * 解码内嵌的角色与权限
+     */
+    public List<GrantedAuthority> getEmbeddedAuthorities() {
+        List<GrantedAuthority> authorities = embeddedAuthorities;
+        if (authorities == null) {
+            List<GrantedAuthority> decoded = new ArrayList<>();
+            for (String roleCode : splitCodes(claims.get(CLAIM_ROLES, String.class))) {
+                decoded.add(new SimpleGrantedAuthority(ROLE_PREFIX + roleCode));
+            }
+            for (String permissionCode : splitCodes(claims.get(CLAIM_PERMISSIONS, String.class))) {
+                decoded.add(new SimpleGrantedAuthority(permissionCode));
+            }
+            authorities = Collections.unmodifiableList(decoded);
+            embeddedAuthorities = authorities;
+        }
+        return authorities;
+    }
+
+    /**
+     * 由内嵌声明构建登录用户主体
+     */
+    public LoginUser getEmbeddedPrincipal(AuthorityRegistry authorityRegistry) {
+        LoginUser principal = embeddedPrincipal;
+        if (principal == null) {
+            List<GrantedAuthority> authorities = getEmbeddedAuthorities();
+            Long version = claims.get(CLAIM_VERSION, Long.class);
+            principal = new LoginUser(claims.get(CLAIM_USER_ID, Long.class), subject, getEmbeddedStatus(),
+                    version != null ? version : 0L, Set.of(), Set.copyOf(authorities),
+                    authorityRegistry.bitsOf(authorities));
+            embeddedPrincipal = principal;
+        }
+        return principal;
+    }
+
+    private static String[] splitCodes(String codes) {
+        if (codes == null || codes.isEmpty()) {
+            return new String[0];
+        }
+        return codes.split(CODE_SEPARATOR);
+    }
+
+    /**
+     * 剩余有效时间（秒）
+     */
+    public long getRemainingSeconds() {
+        long remaining = (expiration.getTime() - System.currentTimeMillis()) / 1000;
+        return Math.max(0, remaining);
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken{" +
+                "id='" + id + '\'' +
+                ", subject='" + subject + '\'' +
+                ", type='" + type + '\'' +
+                ", expiration=" + expiration +
+                '}';
+    }
+}
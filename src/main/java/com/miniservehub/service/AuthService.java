@@ -1,21 +1,27 @@
 package com.miniservehub.service;
 
+import cn.hutool.core.util.StrUtil;
+import com.miniservehub.common.result.ResultCode;
 import com.miniservehub.dto.*;
 import com.miniservehub.entity.Role;
 import com.miniservehub.entity.User;
 import com.miniservehub.exception.BusinessException;
+import com.miniservehub.exception.ServiceBusyException;
+import com.miniservehub.repository.UserCredential;
 import com.miniservehub.repository.UserRepository;
+import com.miniservehub.security.LoginUser;
+import com.miniservehub.security.OpaqueTokenService;
+import com.miniservehub.security.RbacSnapshot;
+import com.miniservehub.security.TokenPair;
+import com.miniservehub.security.TokenRevocationService;
+import com.miniservehub.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import com.miniservehub.util.JwtUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -24,24 +30,27 @@ import java.util.stream.Collectors;
 
 /**
  * 认证服务
+ * 不在类级别开启事务：密码哈希与校验刻意耗时，期间不能占用数据库连接，
+ * 需要访问数据库的步骤各自使用仓库或用户详情服务上的短事务
  * 
  * @author MiniServeHub Team
  * @version 1.0.0
  */
 @Service
-@Transactional
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
+    /**
+     * 用户不存在或已禁用时参与校验的明文，使这些分支与正常校验耗时一致
+     */
+    private static final String DUMMY_PASSWORD = "userNotFoundPassword";
 
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -49,41 +58,99 @@ public class AuthService {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private RbacSnapshotService rbacSnapshotService;
+
+    @Autowired
+    private OpaqueTokenService opaqueTokenService;
+
+    @Autowired
+    private UserChangeNotifier userChangeNotifier;
+
+    /**
+     * 按当前哈希策略预先计算的占位哈希
+     */
+    private String dummyPasswordHash;
+
+    @PostConstruct
+    public void init() {
+        this.dummyPasswordHash = passwordHashingService.encode(DUMMY_PASSWORD);
+    }
+
     /**
      * 用户登录
      */
-    public AuthResponse login(LoginRequest loginRequest) {
+    public AuthResponse login(LoginRequest loginRequest, String clientIp) {
         logger.info("用户登录请求: {}", loginRequest.getUsername());
 
         try {
-            // 验证用户凭据
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
-            );
+            // 仅查询凭据投影并在事务外校验密码
+            // 用户不存在或已禁用时同样执行一次哈希校验，避免通过响应耗时探测有效用户名
+            UserCredential credential = userRepository.findCredentialByUsername(loginRequest.getUsername())
+                    .orElse(null);
+            if (credential == null) {
+                passwordHashingService.matches(loginRequest.getPassword(), dummyPasswordHash);
+                throw new BusinessException("用户不存在");
+            }
+            if (credential.getStatus() == null || credential.getStatus() != 1) {
+                passwordHashingService.matches(loginRequest.getPassword(), dummyPasswordHash);
+                throw new BusinessException(ResultCode.USER_DISABLED);
+            }
+            if (!passwordHashingService.matches(loginRequest.getPassword(), credential.getPassword())) {
+                throw new BusinessException(ResultCode.PASSWORD_ERROR);
+            }
+            rehashIfNeeded(credential, loginRequest.getPassword());
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            User user = (User) userDetails;
+            // 校验通过后再加载用户与角色
+            User user = loadActiveUser(credential.getUsername());
+            LoginUser loginUser = userDetailsService.toLoginUser(user);
 
-            // 更新最后登录时间
-            user.setLastLoginTime(LocalDateTime.now());
-            userRepository.save(user);
+            // 记录最后登录信息（写后缓冲，批量落库）
+            LocalDateTime loginTime = LocalDateTime.now();
+            lastLoginRecorder.record(user.getId(), loginTime, clientIp);
 
             // 生成JWT令牌
-            String accessToken = jwtUtil.generateToken(userDetails);
-            String refreshToken = jwtUtil.generateRefreshToken(userDetails);
+            TokenPair tokenPair = issueTokenPair(loginUser);
 
             // 构建用户信息
             AuthResponse.UserInfo userInfo = buildUserInfo(user);
+            userInfo.setLastLoginTime(loginTime);
 
             logger.info("用户 {} 登录成功", loginRequest.getUsername());
-            return new AuthResponse(accessToken, refreshToken, jwtUtil.getTokenRemainingTime(accessToken), userInfo);
+            return new AuthResponse(tokenPair.accessToken(), tokenPair.refreshToken(), tokenPair.accessExpiresIn(), userInfo);
 
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("用户 {} 登录失败: {}", loginRequest.getUsername(), e.getMessage());
             throw new BusinessException("用户名或密码错误");
         }
     }
 
+    /**
+     * 哈希算法或参数落后于当前策略时，用本次登录的明文透明升级
+     * 升级失败不影响登录
+     */
+    private void rehashIfNeeded(UserCredential credential, String rawPassword) {
+        if (!passwordHashingService.upgradeEncoding(credential.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = passwordHashingService.encode(rawPassword);
+            if (userRepository.updatePassword(credential.getId(), credential.getPassword(), upgraded) > 0) {
+                logger.info("用户 {} 密码哈希已升级", credential.getUsername());
+            }
+        } catch (Exception e) {
+            logger.warn("用户 {} 密码哈希升级失败: {}", credential.getUsername(), e.getMessage());
+        }
+    }
+
     /**
      * 用户注册
      */
@@ -108,7 +175,7 @@ public class AuthService {
         // 创建新用户
         User user = new User();
         user.setUsername(registerRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
         user.setEmail(registerRequest.getEmail());
         user.setRealName(registerRequest.getRealName());
         user.setPhone(registerRequest.getPhone());
@@ -120,16 +187,17 @@ public class AuthService {
         user.setRoles(new HashSet<>());
 
         user = userRepository.save(user);
+        userChangeNotifier.notifyChanged(user.getId());
+        LoginUser loginUser = userDetailsService.toLoginUser(user);
 
         // 生成JWT令牌
-        String accessToken = jwtUtil.generateToken(user);
-        String refreshToken = jwtUtil.generateRefreshToken(user);
+        TokenPair tokenPair = issueTokenPair(loginUser);
 
         // 构建用户信息
         AuthResponse.UserInfo userInfo = buildUserInfo(user);
 
         logger.info("用户 {} 注册成功", registerRequest.getUsername());
-        return new AuthResponse(accessToken, refreshToken, jwtUtil.getTokenRemainingTime(accessToken), userInfo);
+        return new AuthResponse(tokenPair.accessToken(), tokenPair.refreshToken(), tokenPair.accessExpiresIn(), userInfo);
     }
 
     /**
@@ -139,25 +207,30 @@ public class AuthService {
         String refreshToken = refreshTokenRequest.getRefreshToken();
         
         try {
-            // 验证刷新令牌
-            if (!jwtUtil.validateToken(refreshToken) || !jwtUtil.isRefreshToken(refreshToken)) {
+            // 验证刷新令牌（解析一次，复用结果）
+            VerifiedToken verifiedToken = jwtUtil.verifyToken(refreshToken);
+            if (!verifiedToken.isRefreshToken()) {
                 throw new BusinessException("无效的刷新令牌");
             }
 
+            // 刷新令牌一次有效：原子地检查吊销并作废本令牌，已登出、被吊销或已轮换过的令牌不能再换取新令牌
+            if (!tokenRevocationService.consume(verifiedToken)) {
+                throw new BusinessException(ResultCode.TOKEN_INVALID, "刷新令牌已失效");
+            }
+
             // 获取用户名
-            String username = jwtUtil.getUsernameFromToken(refreshToken);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            String username = verifiedToken.getSubject();
+            User user = loadActiveUser(username);
+            LoginUser loginUser = userDetailsService.toLoginUser(user);
 
             // 生成新的访问令牌
-            String newAccessToken = jwtUtil.generateToken(userDetails);
-            String newRefreshToken = jwtUtil.generateRefreshToken(userDetails);
+            TokenPair tokenPair = issueTokenPair(loginUser);
 
             // 构建用户信息
-            User user = (User) userDetails;
             AuthResponse.UserInfo userInfo = buildUserInfo(user);
 
             logger.info("用户 {} 刷新令牌成功", username);
-            return new AuthResponse(newAccessToken, newRefreshToken, jwtUtil.getTokenRemainingTime(newAccessToken), userInfo);
+            return new AuthResponse(tokenPair.accessToken(), tokenPair.refreshToken(), tokenPair.accessExpiresIn(), userInfo);
 
         } catch (Exception e) {
             logger.error("刷新令牌失败: {}", e.getMessage());
@@ -166,12 +239,90 @@ public class AuthService {
     }
 
     /**
-     * 用户登出
+     * 用户登出，吊销当前访问令牌以及随请求提交的刷新令牌
+     *
+     * @param username 当前用户名
+     * @param accessToken 当前访问令牌
+     * @param refreshToken 刷新令牌，可为null；只吊销属于当前用户的刷新令牌
      */
-    public void logout(String username) {
+    public void logout(String username, String accessToken, String refreshToken) {
         logger.info("用户 {} 登出", username);
-        // 这里可以实现令牌黑名单机制
-        // 目前JWT是无状态的，登出主要由前端处理（删除本地存储的令牌）
+        if (accessToken != null) {
+            revokeToken(accessToken);
+        }
+        if (StrUtil.isNotBlank(refreshToken)) {
+            revokeRefreshToken(username, refreshToken);
+        }
+    }
+
+    private void revokeRefreshToken(String username, String refreshToken) {
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtUtil.verifyToken(refreshToken);
+        } catch (JwtException e) {
+            logger.debug("刷新令牌无效或已过期，无需吊销: {}", e.getMessage());
+            return;
+        }
+        if (!verifiedToken.isRefreshToken() || !username.equals(verifiedToken.getSubject())) {
+            throw new BusinessException(ResultCode.TOKEN_INVALID, "无效的刷新令牌");
+        }
+        tokenRevocationService.revoke(verifiedToken);
+    }
+
+    /**
+     * 吊销令牌（已过期或无效的令牌无需吊销）
+     * 不透明令牌直接删除其会话
+     */
+    public void revokeToken(String token) {
+        if (opaqueTokenService.isEnabled() && opaqueTokenService.isOpaqueToken(token)) {
+            opaqueTokenService.end(token);
+            return;
+        }
+
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtUtil.verifyToken(token);
+        } catch (JwtException e) {
+            logger.debug("令牌无效或已过期，无需吊销: {}", e.getMessage());
+            return;
+        }
+
+        if (!tokenRevocationService.revoke(verifiedToken)) {
+            throw new BusinessException(ResultCode.TOKEN_INVALID, "令牌不支持吊销");
+        }
+    }
+
+    /**
+     * 按配置的令牌模式签发访问令牌与刷新令牌
+     */
+    private TokenPair issueTokenPair(LoginUser loginUser) {
+        if (opaqueTokenService.isEnabled()) {
+            return opaqueTokenService.issueTokenPair(loginUser);
+        }
+        return jwtUtil.issueTokenPair(loginUser);
+    }
+
+    /**
+     * 获取当前登录用户的完整信息
+     */
+    public AuthResponse.UserInfo getCurrentUserInfo(LoginUser loginUser) {
+        User user = (loginUser.getId() != null
+                ? userRepository.findWithRolesById(loginUser.getId())
+                : userRepository.findWithRolesByUsername(loginUser.getUsername()))
+                .orElseThrow(() -> new BusinessException(ResultCode.USER_NOT_FOUND));
+        return buildUserInfo(user);
+    }
+
+    /**
+     * 加载启用状态的用户实体（含角色）
+     */
+    private User loadActiveUser(String username) {
+        User user = userRepository.findWithRolesByUsername(username)
+                .orElseThrow(() -> new BusinessException(ResultCode.USER_NOT_FOUND));
+        if (user.getStatus() == null || user.getStatus() != 1) {
+            throw new BusinessException(ResultCode.USER_DISABLED);
+        }
+        return user;
     }
 
     /**
@@ -189,17 +340,15 @@ public class AuthService {
         userInfo.setUserType(user.getUserType());
         userInfo.setLastLoginTime(user.getLastLoginTime());
 
-        // 设置角色信息
-        Set<String> roles = user.getRoles().stream()
-                .map(Role::getRoleCode)
+        // 从RBAC快照解析角色与权限
+        RbacSnapshot snapshot = rbacSnapshotService.getSnapshot();
+        Set<Long> roleIds = user.getRoles().stream()
+                .map(Role::getId)
                 .collect(Collectors.toSet());
-        userInfo.setRoles(roles);
+        userInfo.setRoles(snapshot.roleCodesOf(roleIds));
 
         // 设置权限信息
-        Set<String> permissions = user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(permission -> permission.getPermissionCode())
-                .collect(Collectors.toSet());
+        Set<String> permissions = snapshot.permissionCodesOf(roleIds);
         userInfo.setPermissions(permissions);
 
         return userInfo;
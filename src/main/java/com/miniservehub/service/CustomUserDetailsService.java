@@ -1,18 +1,26 @@
 package com.miniservehub.service;
 
+import com.miniservehub.entity.Role;
 import com.miniservehub.entity.User;
 import com.miniservehub.repository.UserRepository;
+import com.miniservehub.security.AuthorityRegistry;
+import com.miniservehub.security.LoginUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * 自定义用户详情服务
+ * 返回轻量的 {@link LoginUser} 主体，授权按角色ID从RBAC快照解析
  * 
  * @author MiniServeHub Team
  * @version 1.0.0
@@ -26,18 +34,40 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RbacSnapshotService rbacSnapshotService;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    public LoginUser loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("加载用户信息: {}", username);
         
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
         
         if (user.getStatus() == 0) {
             throw new UsernameNotFoundException("用户已被禁用: " + username);
         }
         
-        logger.debug("成功加载用户信息: {}, 角色数量: {}", username, user.getRoles().size());
-        return user;
+        LoginUser loginUser = toLoginUser(user);
+        logger.debug("成功加载用户信息: {}, 角色数量: {}", username, loginUser.getRoleIds().size());
+        return loginUser;
+    }
+
+    /**
+     * 由用户实体构建登录主体，只读取已加载的角色ID，不触及角色的权限集合
+     */
+    public LoginUser toLoginUser(User user) {
+        Set<Long> roleIds = new HashSet<>();
+        for (Role role : user.getRoles()) {
+            roleIds.add(role.getId());
+        }
+        Set<GrantedAuthority> authorities = rbacSnapshotService.getSnapshot().authoritiesOf(roleIds);
+        long version = user.getUpdateTime() != null
+                ? user.getUpdateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+        return new LoginUser(user.getId(), user.getUsername(), user.getStatus(), version, roleIds,
+                authorities, authorityRegistry.bitsOf(authorities));
     }
 }
@@ -0,0 +1,156 @@
+package com.miniservehub.service;
+
+import com.miniservehub.config.AuthProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 最后登录信息写后缓冲
+ * 每个用户只保留最新一次登录记录，按时间间隔或积压数量合并为一次JDBC批量更新，
+ * 避免登录高峰期逐条UPDATE
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    private static final String UPDATE_SQL = "UPDATE sys_user SET last_login_time = ?, last_login_ip = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, LoginRecord> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private ScheduledExecutorService flushExecutor;
+
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        this.flushTimer = Timer.builder("auth.last_login.flush")
+                .description("最后登录信息批量写入耗时")
+                .register(meterRegistry);
+        Gauge.builder("auth.last_login.pending", pending, Map::size)
+                .description("待写入的最后登录记录数")
+                .register(meterRegistry);
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = authProperties.getLastLogin().getFlushInterval().toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录一次登录，同一用户只保留最新记录
+     */
+    public void record(Long userId, LocalDateTime loginTime, String loginIp) {
+        LoginRecord record = new LoginRecord(userId, loginTime, loginIp);
+        pending.merge(userId, record, (current, latest) ->
+                latest.loginTime().isBefore(current.loginTime()) ? current : latest);
+
+        if (pending.size() >= authProperties.getLastLogin().getBatchSize()
+                && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * 将积压记录批量写入数据库，写入失败的记录重新放回缓冲（不覆盖更新的记录）
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<LoginRecord> batch = new ArrayList<>(pending.size());
+        for (LoginRecord record : pending.values()) {
+            if (pending.remove(record.userId(), record)) {
+                batch.add(record);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, authProperties.getLastLogin().getBatchSize(),
+                    (ps, record) -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(record.loginTime()));
+                        ps.setString(2, record.loginIp());
+                        ps.setLong(3, record.userId());
+                    });
+            logger.debug("最后登录信息批量写入完成: count={}", batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(record -> pending.putIfAbsent(record.userId(), record));
+            throw e;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * 停机前写入全部积压记录
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        logger.info("最后登录信息缓冲已清空");
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("最后登录信息批量写入失败, 待重试数量={}: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 登录记录
+     */
+    private record LoginRecord(Long userId, LocalDateTime loginTime, String loginIp) {
+    }
+}
@@ -0,0 +1,220 @@
+package com.miniservehub.service;
+
+import com.alibaba.fastjson2.JSON;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miniservehub.common.result.Result;
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.dto.PermissionDTO;
+import com.miniservehub.event.RbacSnapshotRebuiltEvent;
+import com.miniservehub.security.RbacSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 菜单树服务
+ * 按用户的角色组合返回已排序、已序列化的菜单/按钮树（permissionType 1/2），
+ * 缓存键为规范化的角色ID集合加各角色菜单内容指纹；RBAC快照更新时只淘汰指纹发生变化的角色组合
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Service
+public class MenuTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuTreeService.class);
+
+    private static final String CACHE_NAME = "auth.menu-tree";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private static final Integer PERMISSION_TYPE_MENU = 1;
+
+    private static final Integer PERMISSION_TYPE_BUTTON = 2;
+
+    private static final Comparator<PermissionDTO> SORT_ORDER = Comparator
+            .comparing(PermissionDTO::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PermissionDTO::getId);
+
+    @Autowired
+    private RbacSnapshotService rbacSnapshotService;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, CachedMenuTree> cache;
+
+    private volatile MenuIndex index;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(authProperties.getMenuCache().getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.index = MenuIndex.of(rbacSnapshotService.getSnapshot());
+    }
+
+    /**
+     * 获取授权集合对应的菜单树JSON（已包装为统一响应格式）
+     * 缓存命中时只有一次查找，返回的字节数组由调用方直接写出，不得修改
+     */
+    public byte[] getMenuTreeJson(Collection<? extends GrantedAuthority> authorities) {
+        MenuIndex current = this.index;
+        long[] roleIds = roleIdsOf(authorities, current.snapshot());
+        long fingerprint = current.fingerprintOf(roleIds);
+        String key = cacheKey(roleIds, fingerprint);
+        return cache.get(key, k -> new CachedMenuTree(roleIds, fingerprint, render(roleIds, current))).body();
+    }
+
+    /**
+     * 快照更新后重建菜单索引，只淘汰包含菜单内容发生变化的角色的缓存项
+     */
+    @EventListener
+    public void onRbacSnapshotRebuilt(RbacSnapshotRebuiltEvent event) {
+        MenuIndex rebuilt = MenuIndex.of(event.getSnapshot());
+        this.index = rebuilt;
+        int before = cache.asMap().size();
+        cache.asMap().values().removeIf(entry -> rebuilt.fingerprintOf(entry.roleIds()) != entry.fingerprint());
+        logger.debug("菜单树缓存已按RBAC版本 {} 校验，淘汰 {} 项",
+                event.getSnapshot().getVersion(), before - cache.asMap().size());
+    }
+
+    private long[] roleIdsOf(Collection<? extends GrantedAuthority> authorities, RbacSnapshot snapshot) {
+        long[] ids = new long[authorities.size()];
+        int count = 0;
+        for (GrantedAuthority authority : authorities) {
+            String code = authority.getAuthority();
+            if (code != null && code.startsWith(ROLE_PREFIX)) {
+                RbacSnapshot.RoleView role = snapshot.getRoleByCode(code.substring(ROLE_PREFIX.length()));
+                if (role != null) {
+                    ids[count++] = role.id();
+                }
+            }
+        }
+        long[] roleIds = Arrays.copyOf(ids, count);
+        Arrays.sort(roleIds);
+        return roleIds;
+    }
+
+    private String cacheKey(long[] roleIds, long fingerprint) {
+        StringBuilder key = new StringBuilder(roleIds.length * 4 + 17);
+        for (long roleId : roleIds) {
+            key.append(roleId).append(',');
+        }
+        return key.append('@').append(Long.toHexString(fingerprint)).toString();
+    }
+
+    private byte[] render(long[] roleIds, MenuIndex current) {
+        Map<Long, PermissionDTO> nodes = new LinkedHashMap<>();
+        for (long roleId : roleIds) {
+            RbacSnapshot.RoleView role = current.snapshot().getRole(roleId);
+            for (String code : role.permissionCodes()) {
+                RbacSnapshot.PermissionView menu = current.menusByCode().get(code);
+                if (menu != null && !nodes.containsKey(menu.id())) {
+                    nodes.put(menu.id(), convertToDTO(menu));
+                }
+            }
+        }
+
+        List<PermissionDTO> roots = new ArrayList<>();
+        for (PermissionDTO node : nodes.values()) {
+            PermissionDTO parent = node.getParentId() != null ? nodes.get(node.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        for (PermissionDTO node : nodes.values()) {
+            node.getChildren().sort(SORT_ORDER);
+        }
+        roots.sort(SORT_ORDER);
+        return JSON.toJSONBytes(Result.success(roots));
+    }
+
+    private PermissionDTO convertToDTO(RbacSnapshot.PermissionView view) {
+        PermissionDTO dto = new PermissionDTO();
+        dto.setId(view.id());
+        dto.setPermissionCode(view.permissionCode());
+        dto.setPermissionName(view.permissionName());
+        dto.setPermissionType(view.permissionType());
+        dto.setParentId(view.parentId());
+        dto.setPermissionPath(view.permissionPath());
+        dto.setHttpMethod(view.httpMethod());
+        dto.setSortOrder(view.sortOrder());
+        return dto;
+    }
+
+    /**
+     * 缓存项：角色组合、构建时的内容指纹与序列化结果
+     */
+    private record CachedMenuTree(long[] roleIds, long fingerprint, byte[] body) {
+    }
+
+    /**
+     * 由快照派生的菜单索引：菜单类权限按编码索引，以及每个角色的菜单内容指纹
+     */
+    private record MenuIndex(RbacSnapshot snapshot, Map<String, RbacSnapshot.PermissionView> menusByCode,
+                             Map<Long, Long> roleFingerprints) {
+
+        static MenuIndex of(RbacSnapshot snapshot) {
+            Map<String, RbacSnapshot.PermissionView> menusByCode = new HashMap<>();
+            for (RbacSnapshot.PermissionView permission : snapshot.getPermissions()) {
+                if (PERMISSION_TYPE_MENU.equals(permission.permissionType())
+                        || PERMISSION_TYPE_BUTTON.equals(permission.permissionType())) {
+                    menusByCode.put(permission.permissionCode(), permission);
+                }
+            }
+
+            Map<Long, Long> roleFingerprints = new HashMap<>();
+            for (RbacSnapshot.RoleView role : snapshot.getRoles()) {
+                List<RbacSnapshot.PermissionView> menus = new ArrayList<>();
+                for (String code : role.permissionCodes()) {
+                    RbacSnapshot.PermissionView menu = menusByCode.get(code);
+                    if (menu != null) {
+                        menus.add(menu);
+                    }
+                }
+                menus.sort(Comparator.comparing(RbacSnapshot.PermissionView::id));
+                long fingerprint = role.id();
+                for (RbacSnapshot.PermissionView menu : menus) {
+                    fingerprint = fingerprint * 1_000_003L + menu.hashCode();
+                }
+                roleFingerprints.put(role.id(), fingerprint);
+            }
+            return new MenuIndex(snapshot, menusByCode, roleFingerprints);
+        }
+
+        /**
+         * 角色组合的指纹，停用或不存在的角色记为0
+         */
+        long fingerprintOf(long[] roleIds) {
+            long fingerprint = 17L;
+            for (long roleId : roleIds) {
+                fingerprint = fingerprint * 31L + roleFingerprints.getOrDefault(roleId, 0L);
+            }
+            return fingerprint;
+        }
+    }
+}
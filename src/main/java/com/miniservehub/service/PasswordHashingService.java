@@ -0,0 +1,229 @@
+package com.miniservehub.service;
+
+import com.miniservehub.common.result.ResultCode;
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.exception.BusinessException;
+import com.miniservehub.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希服务
+ * 在按CPU核数设置的有界线程池上执行密码哈希与校验，队列满时快速拒绝，
+ * 避免登录高峰把全部Tomcat线程耗在哈希计算上
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final String OPERATION_ENCODE = "encode";
+
+    private static final String OPERATION_MATCHES = "matches";
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 批量哈希线程池，与登录使用的线程池隔离；队列长度受调用方分块大小约束
+     */
+    private ThreadPoolExecutor bulkExecutor;
+
+    private Timer queueWaitTimer;
+
+    private Timer encodeTimer;
+
+    private Timer matchesTimer;
+
+    private Timer bulkEncodeTimer;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        AuthProperties.PasswordHashing config = authProperties.getPasswordHashing();
+        int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        int bulkThreads = config.getBulkThreads() > 0
+                ? config.getBulkThreads() : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger bulkThreadIndex = new AtomicInteger();
+        // 有界队列，满时由提交线程自行执行，导入速度受哈希能力约束而不会无限堆积任务
+        this.bulkExecutor = new ThreadPoolExecutor(bulkThreads, bulkThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getBulkQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-bulk-hasher-" + bulkThreadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    // 与CallerRunsPolicy相同，但线程池关闭时抛出异常而不是静默丢弃，避免调用方永久等待结果
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("批量哈希线程池已关闭");
+                    }
+                    runnable.run();
+                });
+
+        this.queueWaitTimer = Timer.builder("auth.password.queue_wait")
+                .description("密码哈希任务排队等待耗时")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(OPERATION_ENCODE);
+        this.matchesTimer = hashTimer(OPERATION_MATCHES);
+        // 批量导入单独计时，不混入登录与注册的哈希耗时分布
+        this.bulkEncodeTimer = Timer.builder("auth.password.bulk_hash")
+                .description("批量导入密码哈希计算耗时")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("线程池饱和被拒绝的密码哈希任务数")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue_size", executor, e -> e.getQueue().size())
+                .description("密码哈希等待队列长度")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active_threads", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行密码哈希的线程数")
+                .register(meterRegistry);
+
+        logger.info("密码哈希线程池已启动: threads={}, queueCapacity={}, bulkThreads={}, bulkQueueCapacity={}",
+                threads, config.getQueueCapacity(), bulkThreads, config.getBulkQueueCapacity());
+    }
+
+    /**
+     * 哈希明文密码
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 在批量线程池上并行哈希一批明文密码，结果与输入顺序一致
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                Supplier<String> task = () -> passwordEncoder.encode(rawPassword);
+                futures.add(bulkExecutor.submit(() -> bulkEncodeTimer.record(task)));
+            }
+            List<String> encoded = new ArrayList<>(rawPasswords.size());
+            for (Future<String> future : futures) {
+                encoded.add(future.get());
+            }
+            return encoded;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException("密码哈希失败", cause);
+        }
+    }
+
+    /**
+     * 校验明文密码与哈希是否匹配
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 判断哈希的算法或参数是否落后于当前策略，需要在下次获得明文时重新哈希
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Timer hashTimer, Supplier<T> task) {
+        AuthProperties.PasswordHashing config = authProperties.getPasswordHashing();
+        long retryAfterSeconds = Math.max(1L, config.getRetryAfter().toSeconds());
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceBusyException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException("密码哈希失败", cause);
+        }
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("密码哈希计算耗时")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+}
@@ -0,0 +1,20 @@
+package com.miniservehub.service;
+
+import com.miniservehub.dto.PermissionDTO;
+
+/**
+ * 权限服务接口
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+public interface PermissionService {
+
+    /**
+     * 获取以指定权限为根的整棵子树
+     *
+     * @param id 根权限ID
+     * @return 树形权限，子节点按排序号升序
+     */
+    PermissionDTO getPermissionSubtree(Long id);
+}
@@ -0,0 +1,188 @@
+package com.miniservehub.service;
+
+import com.miniservehub.entity.Permission;
+import com.miniservehub.entity.Role;
+import com.miniservehub.event.RbacSnapshotRebuiltEvent;
+import com.miniservehub.repository.PermissionRepository;
+import com.miniservehub.repository.RoleRepository;
+import com.miniservehub.security.RbacSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * RBAC快照服务
+ * 持有当前的 {@link RbacSnapshot}，角色或权限变更后整体重建并原子替换（写时复制），
+ * 经Redis频道通知集群其他节点重建，另有定时重建兜底丢失的通知
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Service
+public class RbacSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RbacSnapshotService.class);
+
+    /**
+     * RBAC变更广播频道
+     */
+    public static final String CHANNEL = "miniservehub:rbac-changed";
+
+    private static final Integer STATUS_ENABLED = 1;
+
+    /**
+     * 本节点标识，用于忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 同一事务内多次变更只重建一次
+     */
+    private final Object transactionKey = new Object();
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile RbacSnapshot snapshot = RbacSnapshot.EMPTY;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 提交后的afterCompletion回调中原事务已结束，必须开启独立的新事务才能访问数据库
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("auth.rbac.snapshot.version", this, service -> service.snapshot.getVersion())
+                .description("RBAC快照版本")
+                .register(meterRegistry);
+        Gauge.builder("auth.rbac.snapshot.roles", this, service -> service.snapshot.getRoles().size())
+                .description("RBAC快照中的启用角色数")
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    /**
+     * 当前快照
+     */
+    public RbacSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 通知角色、权限或其关联发生变更，存在事务时在提交后重建并广播
+     */
+    public void notifyChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(transactionKey)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(transactionKey, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                    if (status == STATUS_COMMITTED) {
+                        rebuildAndBroadcast();
+                    }
+                }
+            });
+        } else {
+            rebuildAndBroadcast();
+        }
+    }
+
+    /**
+     * 定时重建，兜底丢失的广播与绕过应用直接修改数据库的情况
+     */
+    @Scheduled(fixedDelayString = "#{@authProperties.rbac.refreshInterval.toMillis()}",
+            initialDelayString = "#{@authProperties.rbac.refreshInterval.toMillis()}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库重建快照，内容有变化时替换并发布 {@link RbacSnapshotRebuiltEvent}
+     */
+    public synchronized void rebuild() {
+        RbacSnapshot current = this.snapshot;
+        RbacSnapshot rebuilt;
+        try {
+            rebuilt = readOnlyTransaction.execute(status -> {
+                List<Role> roles = roleRepository.findWithPermissionsByStatus(STATUS_ENABLED);
+                Set<Permission> permissions = permissionRepository.findByStatus(STATUS_ENABLED);
+                return RbacSnapshot.build(current.getVersion() + 1, roles, permissions, current);
+            });
+        } catch (Exception e) {
+            logger.error("RBAC快照重建失败，继续使用版本 {}: {}", current.getVersion(), e.getMessage());
+            return;
+        }
+
+        if (rebuilt == null || (current != RbacSnapshot.EMPTY && rebuilt.sameContentAs(current))) {
+            return;
+        }
+        this.snapshot = rebuilt;
+        logger.info("RBAC快照已更新: version={}, roles={}, permissions={}",
+                rebuilt.getVersion(), rebuilt.getRoles().size(), rebuilt.getPermissions().size());
+        eventPublisher.publishEvent(new RbacSnapshotRebuiltEvent(rebuilt));
+    }
+
+    private void rebuildAndBroadcast() {
+        rebuild();
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId);
+        } catch (Exception e) {
+            logger.warn("RBAC变更广播失败: {}", e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (nodeId.equals(sender)) {
+            return;
+        }
+        logger.debug("收到RBAC变更广播，重建快照");
+        rebuild();
+    }
+}
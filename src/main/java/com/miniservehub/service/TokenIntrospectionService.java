@@ -0,0 +1,187 @@
+package com.miniservehub.service;
+
+import com.miniservehub.common.result.ResultCode;
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.dto.TokenIntrospection;
+import com.miniservehub.exception.BusinessException;
+import com.miniservehub.security.AuthorityRegistry;
+import com.miniservehub.security.LoginUser;
+import com.miniservehub.security.OpaqueTokenService;
+import com.miniservehub.security.TokenRevocationService;
+import com.miniservehub.security.UserDetailsCache;
+import com.miniservehub.security.VerifiedToken;
+import com.miniservehub.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * 令牌批量内省服务
+ * 签名校验在本地并行完成，吊销状态通过一次Redis MGET批量查询，
+ * 同一用户的多个令牌只解析一次用户信息；不透明模式下的引用令牌按会话解析（优先本地缓存）。结果顺序与请求顺序一致
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    private static final String TOKEN_TYPE_ACCESS = "access";
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    @Autowired
+    private AuthProperties authProperties;
+
+    @Autowired
+    private OpaqueTokenService opaqueTokenService;
+
+    /**
+     * 批量内省令牌
+     *
+     * @param tokens 令牌列表
+     * @return 与请求顺序一一对应的内省结果
+     */
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        int maxBatchSize = authProperties.getIntrospection().getMaxBatchSize();
+        if (tokens.size() > maxBatchSize) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "单次最多内省 " + maxBatchSize + " 个令牌");
+        }
+
+        // 签名与有效期校验为纯CPU计算，并行执行；引用令牌不是JWT，单独解析
+        boolean opaqueEnabled = opaqueTokenService.isEnabled();
+        VerifiedToken[] verified = new VerifiedToken[tokens.size()];
+        IntStream.range(0, tokens.size()).parallel().forEach(i -> {
+            String token = tokens.get(i);
+            if (!(opaqueEnabled && opaqueTokenService.isOpaqueToken(token))) {
+                verified[i] = verifyQuietly(token);
+            }
+        });
+
+        List<String> tokenIds = new ArrayList<>(verified.length);
+        for (VerifiedToken verifiedToken : verified) {
+            if (verifiedToken != null && verifiedToken.getId() != null) {
+                tokenIds.add(verifiedToken.getId());
+            }
+        }
+        Set<String> revoked = tokenIds.isEmpty() ? Set.of() : tokenRevocationService.findRevoked(tokenIds);
+
+        Map<String, Optional<LoginUser>> users = new HashMap<>();
+        List<TokenIntrospection> results = new ArrayList<>(verified.length);
+        for (int i = 0; i < verified.length; i++) {
+            VerifiedToken verifiedToken = verified[i];
+            if (opaqueEnabled && opaqueTokenService.isOpaqueToken(tokens.get(i))) {
+                results.add(introspectOpaque(tokens.get(i)));
+                continue;
+            }
+            if (verifiedToken == null || verifiedToken.getSubject() == null
+                    || (verifiedToken.getId() != null && revoked.contains(verifiedToken.getId()))) {
+                results.add(TokenIntrospection.inactive());
+                continue;
+            }
+            LoginUser loginUser = resolvePrincipal(verifiedToken, users);
+            results.add(loginUser == null ? TokenIntrospection.inactive()
+                    : toIntrospection(verifiedToken.getSubject(),
+                            verifiedToken.isRefreshToken() ? VerifiedToken.TYPE_REFRESH : TOKEN_TYPE_ACCESS,
+                            verifiedToken.getExpirationMillis(), loginUser));
+        }
+        return results;
+    }
+
+    /**
+     * 引用令牌按会话解析，会话不存在、已过期或用户已禁用时为无效
+     */
+    private TokenIntrospection introspectOpaque(String token) {
+        try {
+            OpaqueTokenService.ResolvedSession session = opaqueTokenService.resolveSession(token);
+            if (session == null) {
+                return TokenIntrospection.inactive();
+            }
+            return toIntrospection(session.loginUser().getUsername(), TOKEN_TYPE_ACCESS, session.expiresAt(),
+                    session.loginUser());
+        } catch (Exception e) {
+            logger.debug("内省引用令牌失败: {}", e.getMessage());
+            return TokenIntrospection.inactive();
+        }
+    }
+
+    private VerifiedToken verifyQuietly(String token) {
+        try {
+            return jwtUtil.verifyToken(token);
+        } catch (Exception e) {
+            logger.debug("内省令牌校验失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析令牌主体：优先使用内嵌声明，否则按用户名加载（同一批次内只加载一次）
+     * 用户不存在或已禁用时返回null
+     */
+    private LoginUser resolvePrincipal(VerifiedToken verifiedToken, Map<String, Optional<LoginUser>> users) {
+        if (jwtUtil.isStatelessAuthoritiesEnabled() && verifiedToken.hasEmbeddedAuthorities()) {
+            Integer status = verifiedToken.getEmbeddedStatus();
+            if (status != null && status != 1) {
+                return null;
+            }
+            return verifiedToken.getEmbeddedPrincipal(authorityRegistry);
+        }
+        return users.computeIfAbsent(verifiedToken.getSubject(), this::loadQuietly).orElse(null);
+    }
+
+    private Optional<LoginUser> loadQuietly(String username) {
+        try {
+            return Optional.of(userDetailsCache.get(username));
+        } catch (Exception e) {
+            logger.debug("内省令牌用户 {} 不可用: {}", username, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private TokenIntrospection toIntrospection(String subject, String tokenType, long expiresAtMillis,
+                                               LoginUser loginUser) {
+        Set<String> roles = new LinkedHashSet<>();
+        Set<String> permissions = new LinkedHashSet<>();
+        for (GrantedAuthority authority : loginUser.getAuthorities()) {
+            String code = authority.getAuthority();
+            if (code.startsWith(VerifiedToken.ROLE_PREFIX)) {
+                roles.add(code.substring(VerifiedToken.ROLE_PREFIX.length()));
+            } else {
+                permissions.add(code);
+            }
+        }
+
+        TokenIntrospection introspection = new TokenIntrospection();
+        introspection.setActive(true);
+        introspection.setSubject(subject);
+        introspection.setUserId(loginUser.getId());
+        introspection.setTokenType(tokenType);
+        introspection.setExpiresAt(expiresAtMillis / 1000);
+        introspection.setRoles(roles);
+        introspection.setPermissions(permissions);
+        return introspection;
+    }
+}
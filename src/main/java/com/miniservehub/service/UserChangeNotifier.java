@@ -0,0 +1,143 @@
+package com.miniservehub.service;
+
+import com.miniservehub.event.UserChangedEvent;
+import com.miniservehub.event.UsersImportedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 用户变更通知器
+ * 事务提交后在本节点发布 {@link UserChangedEvent}，并通过Redis频道广播到集群其他节点；
+ * 批量导入完成后以同样方式发布一次不带用户ID的 {@link UsersImportedEvent}
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UserChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeNotifier.class);
+
+    /**
+     * 用户变更广播频道
+     */
+    public static final String CHANNEL = "miniservehub:user-changed";
+
+    /**
+     * 批量导入完成广播的负载前缀，其后为新增用户数
+     */
+    private static final String IMPORTED_PREFIX = "import=";
+
+    /**
+     * 本节点标识，用于忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 通知用户变更，存在事务时在提交后发送
+     */
+    public void notifyChanged(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(ids);
+                }
+            });
+        } else {
+            publish(ids);
+        }
+    }
+
+    /**
+     * 通知单个用户变更
+     */
+    public void notifyChanged(Long userId) {
+        notifyChanged(List.of(userId));
+    }
+
+    /**
+     * 通知批量导入新增了用户，调用方需在导入写入全部提交后调用
+     */
+    public void notifyImported(long inserted) {
+        if (inserted <= 0) {
+            return;
+        }
+        eventPublisher.publishEvent(new UsersImportedEvent(inserted));
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + ":" + IMPORTED_PREFIX + inserted);
+        } catch (Exception e) {
+            logger.warn("用户导入广播失败, inserted={}: {}", inserted, e.getMessage());
+        }
+    }
+
+    private void publish(List<Long> userIds) {
+        eventPublisher.publishEvent(new UserChangedEvent(userIds));
+        try {
+            String payload = nodeId + ":" + userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            stringRedisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (Exception e) {
+            logger.warn("用户变更广播失败, userIds={}: {}", userIds, e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf(':');
+        if (separator < 0 || nodeId.equals(payload.substring(0, separator))) {
+            return;
+        }
+
+        String body = payload.substring(separator + 1);
+        if (body.startsWith(IMPORTED_PREFIX)) {
+            long inserted = Long.parseLong(body.substring(IMPORTED_PREFIX.length()));
+            logger.debug("收到用户导入广播: inserted={}", inserted);
+            eventPublisher.publishEvent(new UsersImportedEvent(inserted));
+            return;
+        }
+
+        List<Long> userIds = new ArrayList<>();
+        for (String id : body.split(",")) {
+            if (!id.isEmpty()) {
+                userIds.add(Long.valueOf(id));
+            }
+        }
+        logger.debug("收到用户变更广播: {}", userIds);
+        eventPublisher.publishEvent(new UserChangedEvent(userIds));
+    }
+}
@@ -0,0 +1,163 @@
+package com.miniservehub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miniservehub.config.PagingProperties;
+import com.miniservehub.event.UserChangedEvent;
+import com.miniservehub.event.UsersImportedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 用户分页总数服务
+ * 缓存精确总数：以过滤条件为键，记录计算时的数据版本，任何用户变更（含集群广播）使版本递增，旧版本的总数不再使用；
+ * 估算总数：定期执行一次 {@code GROUP BY status} 维护按状态计数，请求时直接读取内存值
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UserCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCountService.class);
+
+    private static final String CACHE_NAME = "user.page-counts";
+
+    private static final String STATUS_COUNT_SQL = "SELECT status, COUNT(*) FROM sys_user GROUP BY status";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PagingProperties pagingProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 用户数据版本，每次用户变更递增
+     */
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    private Cache<String, VersionedCount> counts;
+
+    /**
+     * 按状态计数快照，首次使用前为null
+     */
+    private volatile Map<Integer, Long> statusCounts;
+
+    @PostConstruct
+    public void init() {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(pagingProperties.getCountCacheMaximumSize())
+                .expireAfterWrite(pagingProperties.getCountCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, CACHE_NAME);
+    }
+
+    /**
+     * 获取缓存的精确总数，缓存缺失或数据版本已变化时重新统计
+     *
+     * @param filterKey 过滤条件键
+     * @param counter 精确统计
+     */
+    public long cachedCount(String filterKey, LongSupplier counter) {
+        long version = dataVersion.get();
+        VersionedCount cached = counts.getIfPresent(filterKey);
+        if (cached != null && cached.version() == version) {
+            return cached.count();
+        }
+        long count = counter.getAsLong();
+        counts.put(filterKey, new VersionedCount(version, count));
+        return count;
+    }
+
+    /**
+     * 估算全部用户数
+     */
+    public long estimatedTotal() {
+        long total = 0;
+        for (long count : statusCounts().values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 估算指定状态的用户数
+     */
+    public long estimatedCountByStatus(Integer status) {
+        return statusCounts().getOrDefault(status, 0L);
+    }
+
+    /**
+     * 用户变更后递增数据版本，缓存的总数随之失效
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * 批量导入新增用户后递增数据版本
+     */
+    @EventListener
+    public void onUsersImported(UsersImportedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * 定时刷新按状态计数（尚未使用过估算时跳过）
+     */
+    @Scheduled(fixedDelayString = "#{@pagingProperties.estimateRefreshInterval.toMillis()}",
+            initialDelayString = "#{@pagingProperties.estimateRefreshInterval.toMillis()}")
+    public void refreshStatusCounts() {
+        if (statusCounts == null) {
+            return;
+        }
+        try {
+            statusCounts = loadStatusCounts();
+        } catch (Exception e) {
+            logger.warn("刷新按状态用户计数失败，继续使用上次结果: {}", e.getMessage());
+        }
+    }
+
+    private Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> current = statusCounts;
+        if (current == null) {
+            synchronized (this) {
+                current = statusCounts;
+                if (current == null) {
+                    current = loadStatusCounts();
+                    statusCounts = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<Integer, Long> loadStatusCounts() {
+        Map<Integer, Long> loaded = new HashMap<>();
+        jdbcTemplate.query(STATUS_COUNT_SQL, (RowCallbackHandler) rs -> loaded.put(rs.getInt(1), rs.getLong(2)));
+        logger.debug("按状态用户计数已刷新: {}", loaded);
+        return Map.copyOf(loaded);
+    }
+
+    private record VersionedCount(long version, long count) {
+    }
+}
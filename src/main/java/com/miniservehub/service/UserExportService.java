@@ -0,0 +1,221 @@
+package com.miniservehub.service;
+
+import com.alibaba.fastjson2.JSON;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户全量导出服务
+ * 单条SQL配合MySQL流式结果集逐行读取，每行直接写入输出流，不构造实体、不加载角色；
+ * 内存占用只取决于写缓冲区大小，与导出行数无关。整个导出是一条语句，因此结果是同一时刻的一致快照
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UserExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String[] COLUMNS = {
+            "id", "username", "realName", "email", "phone", "avatar", "gender", "birthday", "status",
+            "userType", "lastLoginTime", "lastLoginIp", "remark", "createTime", "updateTime"
+    };
+
+    private static final String SELECT_SQL = "SELECT id, username, real_name, email, phone, avatar, gender, birthday, "
+            + "status, user_type, last_login_time, last_login_ip, remark, create_time, update_time FROM sys_user";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 写缓冲区大小（字符）
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 流式读取用的JdbcTemplate（MySQL驱动在fetchSize为Integer.MIN_VALUE时逐行返回结果）
+     */
+    private JdbcTemplate streamingJdbcTemplate;
+
+    private Timer exportTimer;
+
+    private Counter rowCounter;
+
+    @PostConstruct
+    public void init() {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+        this.exportTimer = Timer.builder("user.export")
+                .description("用户全量导出耗时")
+                .register(meterRegistry);
+        this.rowCounter = Counter.builder("user.export.rows")
+                .description("已导出的用户行数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 按条件导出用户，调用方负责输出流的压缩与关闭
+     *
+     * @param format 导出格式 ndjson 或 csv
+     * @param status 用户状态，为null时不过滤
+     * @param createTimeFrom 创建时间下限（含），为null时不过滤
+     * @param createTimeTo 创建时间上限（不含），为null时不过滤
+     * @param out 输出流
+     * @return 导出行数
+     */
+    public long export(String format, Integer status, LocalDateTime createTimeFrom, LocalDateTime createTimeTo,
+                       OutputStream out) throws IOException {
+        boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>(3);
+        appendCondition(sql, args, "status = ?", status);
+        appendCondition(sql, args, "create_time >= ?", createTimeFrom);
+        appendCondition(sql, args, "create_time < ?", createTimeTo);
+        sql.append(" ORDER BY id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (csv) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        try {
+            streamingJdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+                try {
+                    Object[] values = readRow(rs);
+                    if (csv) {
+                        writeCsv(writer, values);
+                    } else {
+                        writeJson(writer, values);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            // 客户端断开等写出失败，结束查询并释放连接
+            logger.warn("用户导出中断: 已写出 {} 行, {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            rowCounter.increment(rows[0]);
+            exportTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        writer.flush();
+
+        logger.info("用户导出完成: format={}, rows={}, 耗时 {} ms", csv ? FORMAT_CSV : FORMAT_NDJSON, rows[0],
+                (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    private static void appendCondition(StringBuilder sql, List<Object> args, String condition, Object value) {
+        if (value == null) {
+            return;
+        }
+        sql.append(args.isEmpty() ? " WHERE " : " AND ").append(condition);
+        args.add(value);
+    }
+
+    /**
+     * 按 {@link #COLUMNS} 顺序读取一行，时间格式化为字符串
+     */
+    private static Object[] readRow(ResultSet rs) throws SQLException {
+        Object[] values = new Object[COLUMNS.length];
+        values[0] = rs.getLong(1);
+        values[1] = rs.getString(2);
+        values[2] = rs.getString(3);
+        values[3] = rs.getString(4);
+        values[4] = rs.getString(5);
+        values[5] = rs.getString(6);
+        values[6] = rs.getObject(7, Integer.class);
+        Date birthday = rs.getDate(8);
+        values[7] = birthday == null ? null : birthday.toLocalDate().toString();
+        values[8] = rs.getObject(9, Integer.class);
+        values[9] = rs.getObject(10, Integer.class);
+        values[10] = formatTimestamp(rs.getTimestamp(11));
+        values[11] = rs.getString(12);
+        values[12] = rs.getString(13);
+        values[13] = formatTimestamp(rs.getTimestamp(14));
+        values[14] = formatTimestamp(rs.getTimestamp(15));
+        return values;
+    }
+
+    private static String formatTimestamp(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().format(DATE_TIME_FORMATTER);
+    }
+
+    private static void writeJson(Writer writer, Object[] values) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>(COLUMNS.length * 2);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (values[i] != null) {
+                row.put(COLUMNS[i], values[i]);
+            }
+        }
+        writer.write(JSON.toJSONString(row));
+        writer.write('\n');
+    }
+
+    /**
+     * 按RFC 4180转义：含逗号、引号或换行的字段加引号，引号双写
+     */
+    private static void writeCsv(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] == null) {
+                continue;
+            }
+            String value = values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,538 @@
+package com.miniservehub.service;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import com.miniservehub.common.result.ResultCode;
+import com.miniservehub.config.UserImportProperties;
+import com.miniservehub.dto.UserCreateDTO;
+import com.miniservehub.exception.BusinessException;
+import com.miniservehub.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 用户批量导入服务
+ * 边读边处理上传内容，按块执行：内存校验与文件内去重 → 三条IN查询排除已存在的用户名、邮箱、手机号 →
+ * 批量线程池并行哈希密码 → 一个事务内JDBC批量插入（配合 rewriteBatchedStatements 合并为多值INSERT）。
+ * 每块处理完即向响应写出逐行错误与进度（NDJSON），内存占用与分块大小相关；文件内去重集合随行数增长，由最大行数约束
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Component
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String INSERT_SQL = "INSERT INTO sys_user (username, password, real_name, email, phone, avatar, "
+            + "gender, birthday, status, user_type, remark, create_time, update_time, deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserChangeNotifier userChangeNotifier;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserImportProperties userImportProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transaction;
+
+    private Timer chunkTimer;
+
+    private Counter insertedCounter;
+
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkTimer = Timer.builder("user.import.chunk")
+                .description("单块用户导入（校验、查重、哈希、插入）耗时")
+                .register(meterRegistry);
+        this.insertedCounter = Counter.builder("user.import.rows")
+                .description("批量导入处理的用户行数")
+                .tag("result", "inserted")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("user.import.rows")
+                .description("批量导入处理的用户行数")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 导入用户，进度与逐行错误以NDJSON写入progress
+     *
+     * @param format 上传格式 ndjson 或 csv（首行为列名）
+     * @param in 上传内容
+     * @param progress 进度输出流
+     */
+    public void importUsers(String format, InputStream in, OutputStream progress) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ImportRun run = new ImportRun(new BufferedWriter(new OutputStreamWriter(progress, StandardCharsets.UTF_8)));
+        long start = System.nanoTime();
+
+        if (FORMAT_CSV.equalsIgnoreCase(format)) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        flush(run);
+        // 新插入的用户不可能已被任何节点缓存，不逐批查询ID发送变更通知，只在结束时通知一次以刷新搜索索引与总数缓存
+        userChangeNotifier.notifyImported(run.inserted);
+
+        Map<String, Object> summary = run.counts("summary");
+        summary.put("truncated", run.truncated);
+        summary.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+        run.write(summary);
+        run.writer.flush();
+
+        logger.info("用户批量导入完成: processed={}, inserted={}, failed={}, truncated={}, 耗时 {} ms",
+                run.processed, run.inserted, run.failed, run.truncated, summary.get("elapsedMs"));
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!run.accept()) {
+                return;
+            }
+            UserCreateDTO user;
+            try {
+                user = JSON.parseObject(line, UserCreateDTO.class);
+            } catch (JSONException e) {
+                run.error(lineNumber, null, "JSON格式错误");
+                continue;
+            }
+            if (user == null) {
+                run.error(lineNumber, null, "JSON格式错误");
+                continue;
+            }
+            add(run, lineNumber, user);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Excel导出的UTF-8文件带BOM
+            columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        if (!columns.containsKey("username") || !columns.containsKey("password")) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "CSV首行必须包含username与password列");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (!run.accept()) {
+                return;
+            }
+            UserCreateDTO user = new UserCreateDTO();
+            try {
+                user.setUsername(column(record, columns, "username"));
+                user.setPassword(column(record, columns, "password"));
+                user.setRealName(column(record, columns, "realName"));
+                user.setEmail(column(record, columns, "email"));
+                user.setPhone(column(record, columns, "phone"));
+                user.setAvatar(column(record, columns, "avatar"));
+                user.setRemark(column(record, columns, "remark"));
+                String gender = column(record, columns, "gender");
+                user.setGender(gender == null ? null : Integer.valueOf(gender));
+                String userType = column(record, columns, "userType");
+                user.setUserType(userType == null ? null : Integer.valueOf(userType));
+                String birthday = column(record, columns, "birthday");
+                user.setBirthday(birthday == null ? null : LocalDate.parse(birthday));
+            } catch (RuntimeException e) {
+                run.error(csv.recordLine(), user.getUsername(), "字段格式错误: " + e.getMessage());
+                continue;
+            }
+            add(run, csv.recordLine(), user);
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * 单行校验与文件内去重，通过后加入当前块，块满时处理
+     */
+    private void add(ImportRun run, long line, UserCreateDTO user) throws IOException {
+        user.setUsername(user.getUsername() == null ? null : user.getUsername().trim());
+        user.setEmail(blankToNull(user.getEmail()));
+        user.setPhone(blankToNull(user.getPhone()));
+
+        Set<ConstraintViolation<UserCreateDTO>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            run.error(line, user.getUsername(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+
+        // 按小写去重，与数据库默认的大小写不敏感排序规则下的唯一约束一致
+        String username = lower(user.getUsername());
+        String email = lower(user.getEmail());
+        String phone = user.getPhone();
+        if (run.usernames.contains(username)) {
+            run.error(line, user.getUsername(), "文件内用户名重复");
+            return;
+        }
+        if (email != null && run.emails.contains(email)) {
+            run.error(line, user.getUsername(), "文件内邮箱重复");
+            return;
+        }
+        if (phone != null && run.phones.contains(phone)) {
+            run.error(line, user.getUsername(), "文件内手机号重复");
+            return;
+        }
+        run.usernames.add(username);
+        if (email != null) {
+            run.emails.add(email);
+        }
+        if (phone != null) {
+            run.phones.add(phone);
+        }
+
+        run.chunk.add(new Row(line, user));
+        if (run.chunk.size() >= userImportProperties.getChunkSize()) {
+            flush(run);
+        }
+    }
+
+    /**
+     * 处理当前块：集合查重、并行哈希、批量插入，写出进度
+     */
+    private void flush(ImportRun run) throws IOException {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<Row> chunk = run.chunk;
+        run.chunk = new ArrayList<>(userImportProperties.getChunkSize());
+        long start = System.nanoTime();
+
+        Set<String> existingUsernames = lowerAll(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.user().getUsername()).toList()));
+        List<String> chunkEmails = chunk.stream().map(row -> row.user().getEmail()).filter(Objects::nonNull).toList();
+        Set<String> existingEmails = chunkEmails.isEmpty() ? Set.of() : lowerAll(userRepository.findExistingEmails(chunkEmails));
+        List<String> chunkPhones = chunk.stream().map(row -> row.user().getPhone()).filter(Objects::nonNull).toList();
+        Set<String> existingPhones = chunkPhones.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingPhones(chunkPhones));
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            UserCreateDTO user = row.user();
+            if (existingUsernames.contains(lower(user.getUsername()))) {
+                run.error(row.line(), user.getUsername(), ResultCode.USERNAME_ALREADY_EXISTS.getMessage());
+            } else if (user.getEmail() != null && existingEmails.contains(lower(user.getEmail()))) {
+                run.error(row.line(), user.getUsername(), ResultCode.EMAIL_ALREADY_EXISTS.getMessage());
+            } else if (user.getPhone() != null && existingPhones.contains(user.getPhone())) {
+                run.error(row.line(), user.getUsername(), ResultCode.PHONE_ALREADY_EXISTS.getMessage());
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<String> encoded = passwordHashingService.encodeAll(
+                    accepted.stream().map(row -> row.user().getPassword()).toList());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> batch = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                batch.add(insertArgs(accepted.get(i).user(), encoded.get(i), now));
+            }
+
+            int inserted = insert(run, accepted, batch);
+            run.inserted += inserted;
+            insertedCounter.increment(inserted);
+        }
+
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        run.write(run.counts("progress"));
+        run.writer.flush();
+    }
+
+    /**
+     * 整块在一个事务内批量插入；与并发写入发生唯一键冲突或个别行违反字段约束时整块回滚，
+     * 对半拆分后分别重试，直到定位到单个问题行。一块中只有少数问题行时，额外的批次数约为问题行数乘以块大小的对数
+     *
+     * @return 成功插入的行数
+     */
+    private int insert(ImportRun run, List<Row> rows, List<Object[]> batch) throws IOException {
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+            return rows.size();
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                Row row = rows.get(0);
+                if (e instanceof DuplicateKeyException) {
+                    run.error(row.line(), row.user().getUsername(), "用户名、邮箱或手机号已存在");
+                } else {
+                    logger.debug("导入第 {} 行违反数据约束: {}", row.line(), e.getMessage());
+                    run.error(row.line(), row.user().getUsername(), "字段值不符合数据库约束");
+                }
+                return 0;
+            }
+            logger.debug("{} 行批量插入违反数据约束，拆分重试: {}", rows.size(), e.getMessage());
+        }
+
+        int half = rows.size() / 2;
+        return insert(run, rows.subList(0, half), batch.subList(0, half))
+                + insert(run, rows.subList(half, rows.size()), batch.subList(half, batch.size()));
+    }
+
+    private static Object[] insertArgs(UserCreateDTO user, String encodedPassword, Timestamp now) {
+        return new Object[]{
+                user.getUsername(),
+                encodedPassword,
+                user.getRealName(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getAvatar(),
+                user.getGender() != null ? user.getGender() : 0,
+                user.getBirthday(),
+                1,
+                user.getUserType() != null ? user.getUserType() : 2,
+                user.getRemark(),
+                now,
+                now,
+                0
+        };
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> lowerAll(List<String> values) {
+        Set<String> lowered = new HashSet<>(values.size() * 2);
+        for (String value : values) {
+            lowered.add(lower(value));
+        }
+        return lowered;
+    }
+
+    private record Row(long line, UserCreateDTO user) {
+    }
+
+    /**
+     * 单次导入的状态
+     */
+    private final class ImportRun {
+
+        private final Writer writer;
+
+        private final Set<String> usernames = new HashSet<>();
+
+        private final Set<String> emails = new HashSet<>();
+
+        private final Set<String> phones = new HashSet<>();
+
+        private List<Row> chunk = new ArrayList<>(userImportProperties.getChunkSize());
+
+        private long processed;
+
+        private long inserted;
+
+        private long failed;
+
+        private boolean truncated;
+
+        ImportRun(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * 计入一行，超过最大行数时返回false
+         */
+        boolean accept() {
+            if (processed >= userImportProperties.getMaxRows()) {
+                truncated = true;
+                return false;
+            }
+            processed++;
+            return true;
+        }
+
+        void error(long line, String username, String message) throws IOException {
+            failed++;
+            failedCounter.increment();
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("type", "error");
+            error.put("line", line);
+            if (username != null) {
+                error.put("username", username);
+            }
+            error.put("message", message);
+            write(error);
+        }
+
+        Map<String, Object> counts(String type) {
+            Map<String, Object> counts = new LinkedHashMap<>();
+            counts.put("type", type);
+            counts.put("processed", processed);
+            counts.put("inserted", inserted);
+            counts.put("failed", failed);
+            return counts;
+        }
+
+        void write(Map<String, Object> event) throws IOException {
+            writer.write(JSON.toJSONString(event));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * RFC 4180 CSV读取：支持引号包裹的字段、双写引号转义与字段内换行
+     */
+    private static final class CsvReader {
+
+        private final Reader reader;
+
+        private long line = 1;
+
+        private long recordLine;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * 读取下一条记录，到达末尾时返回null
+         */
+        List<String> next() throws IOException {
+            recordLine = line;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == -1 || c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        /**
+         * 最近一条记录的起始行号
+         */
+        long recordLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            int c = reader.read();
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+}
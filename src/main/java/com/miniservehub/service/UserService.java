@@ -1,11 +1,15 @@
 package com.miniservehub.service;
 
+import com.miniservehub.common.page.CountStrategy;
+import com.miniservehub.common.page.CursorPage;
 import com.miniservehub.dto.UserDTO;
+import com.miniservehub.dto.UserSuggestionDTO;
 import com.miniservehub.dto.UserCreateDTO;
 import com.miniservehub.dto.UserUpdateDTO;
 import com.miniservehub.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -73,6 +77,15 @@ public interface UserService {
      */
     Page<UserDTO> getUsers(Pageable pageable);
 
+    /**
+     * 按指定总数策略分页查询用户
+     *
+     * @param pageable 分页参数
+     * @param countStrategy 总数统计策略
+     * @return 用户分页数据，策略为 {@link CountStrategy#NONE} 时总条数与总页数为-1
+     */
+    Page<UserDTO> getUsers(Pageable pageable, CountStrategy countStrategy);
+
     /**
      * 根据关键词搜索用户
      *
@@ -82,6 +95,25 @@ public interface UserService {
      */
     Page<UserDTO> searchUsers(String keyword, Pageable pageable);
 
+    /**
+     * 按指定总数策略搜索用户，关键词搜索无法估算，{@link CountStrategy#ESTIMATED} 按缓存总数处理
+     *
+     * @param keyword 关键词
+     * @param pageable 分页参数
+     * @param countStrategy 总数统计策略
+     * @return 用户分页数据，策略为 {@link CountStrategy#NONE} 时总条数与总页数为-1
+     */
+    Page<UserDTO> searchUsers(String keyword, Pageable pageable, CountStrategy countStrategy);
+
+    /**
+     * 按前缀补全用户名、邮箱与手机号
+     *
+     * @param prefix 前缀
+     * @param limit 最多返回条数
+     * @return 补全结果
+     */
+    List<UserSuggestionDTO> suggestUsers(String prefix, int limit);
+
     /**
      * 根据状态查询用户
      *
@@ -91,6 +123,51 @@ public interface UserService {
      */
     Page<UserDTO> getUsersByStatus(Integer status, Pageable pageable);
 
+    /**
+     * 按指定总数策略根据状态查询用户
+     *
+     * @param status 状态
+     * @param pageable 分页参数
+     * @param countStrategy 总数统计策略
+     * @return 用户分页数据，策略为 {@link CountStrategy#NONE} 时总条数与总页数为-1
+     */
+    Page<UserDTO> getUsersByStatus(Integer status, Pageable pageable, CountStrategy countStrategy);
+
+    /**
+     * 游标分页查询用户
+     *
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 每页大小
+     * @param sortBy 排序字段
+     * @param direction 排序方向
+     * @return 游标分页数据
+     */
+    CursorPage<UserDTO> getUsersByCursor(String cursor, int size, String sortBy, Sort.Direction direction);
+
+    /**
+     * 游标分页搜索用户
+     *
+     * @param keyword 关键词
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 每页大小
+     * @param sortBy 排序字段
+     * @param direction 排序方向
+     * @return 游标分页数据
+     */
+    CursorPage<UserDTO> searchUsersByCursor(String keyword, String cursor, int size, String sortBy, Sort.Direction direction);
+
+    /**
+     * 游标分页按状态查询用户
+     *
+     * @param status 状态
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 每页大小
+     * @param sortBy 排序字段
+     * @param direction 排序方向
+     * @return 游标分页数据
+     */
+    CursorPage<UserDTO> getUsersByStatusByCursor(Integer status, String cursor, int size, String sortBy, Sort.Direction direction);
+
     /**
      * 启用用户
      *
@@ -0,0 +1,81 @@
+package com.miniservehub.service.impl;
+
+import com.miniservehub.common.result.ResultCode;
+import com.miniservehub.dto.PermissionDTO;
+import com.miniservehub.entity.Permission;
+import com.miniservehub.exception.BusinessException;
+import com.miniservehub.repository.PermissionRepository;
+import com.miniservehub.service.PermissionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限服务实现类
+ * 
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class PermissionServiceImpl implements PermissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionServiceImpl.class);
+
+    private static final Comparator<PermissionDTO> SORT_ORDER = Comparator
+            .comparing(PermissionDTO::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PermissionDTO::getId);
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Override
+    public PermissionDTO getPermissionSubtree(Long id) {
+        logger.debug("获取权限子树: ID={}", id);
+
+        // 递归CTE一次取回整棵子树，再在内存中按parentId组装
+        List<Permission> permissions = permissionRepository.findSubtree(id);
+        Map<Long, PermissionDTO> nodes = new HashMap<>();
+        for (Permission permission : permissions) {
+            nodes.put(permission.getId(), convertToDTO(permission));
+        }
+
+        PermissionDTO root = nodes.get(id);
+        if (root == null) {
+            throw new BusinessException(ResultCode.DATA_NOT_FOUND);
+        }
+        for (PermissionDTO node : nodes.values()) {
+            if (node != root && node.getParentId() != null) {
+                PermissionDTO parent = nodes.get(node.getParentId());
+                if (parent != null) {
+                    parent.getChildren().add(node);
+                }
+            }
+        }
+        for (PermissionDTO node : nodes.values()) {
+            node.getChildren().sort(SORT_ORDER);
+        }
+        return root;
+    }
+
+    private PermissionDTO convertToDTO(Permission permission) {
+        PermissionDTO dto = new PermissionDTO();
+        dto.setId(permission.getId());
+        dto.setPermissionCode(permission.getPermissionCode());
+        dto.setPermissionName(permission.getPermissionName());
+        dto.setPermissionType(permission.getPermissionType());
+        dto.setParentId(permission.getParentId());
+        dto.setPermissionPath(permission.getPermissionPath());
+        dto.setHttpMethod(permission.getHttpMethod());
+        dto.setStatus(permission.getStatus());
+        dto.setSortOrder(permission.getSortOrder());
+        return dto;
+    }
+}
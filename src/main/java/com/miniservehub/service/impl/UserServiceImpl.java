@@ -2,28 +2,53 @@ package com.miniservehub.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.digest.BCrypt;
+import com.miniservehub.common.page.CountStrategy;
+import com.miniservehub.common.page.CursorPage;
+import com.miniservehub.common.page.KeysetCursor;
+import com.miniservehub.common.page.UnknownTotalPage;
 import com.miniservehub.common.result.ResultCode;
 import com.miniservehub.dto.UserDTO;
+import com.miniservehub.dto.UserSuggestionDTO;
 import com.miniservehub.dto.UserCreateDTO;
 import com.miniservehub.dto.UserUpdateDTO;
 import com.miniservehub.entity.User;
 import com.miniservehub.exception.BusinessException;
+import com.miniservehub.repository.UserCursorRepository;
 import com.miniservehub.repository.UserRepository;
+import com.miniservehub.search.UserSearchIndex;
+import com.miniservehub.service.LastLoginRecorder;
+import com.miniservehub.service.PasswordHashingService;
+import com.miniservehub.service.UserCountService;
+import com.miniservehub.service.UserChangeNotifier;
 import com.miniservehub.service.UserService;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -41,7 +66,36 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserChangeNotifier userChangeNotifier;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserCountService userCountService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 只包裹写操作的短事务，密码哈希在事务外完成，排队与哈希期间不占用数据库连接
+     */
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO createUser(UserCreateDTO userCreateDTO) {
         logger.info("创建用户: {}", userCreateDTO.getUsername());
         
@@ -68,7 +122,7 @@ public class UserServiceImpl implements UserService {
         BeanUtil.copyProperties(userCreateDTO, user, "id");
         
         // 加密密码
-        String encodedPassword = BCrypt.hashpw(userCreateDTO.getPassword());
+        String encodedPassword = passwordHashingService.encode(userCreateDTO.getPassword());
         user.setPassword(encodedPassword);
         
         // 设置默认值
@@ -77,7 +131,11 @@ public class UserServiceImpl implements UserService {
         user.setGender(user.getGender() != null ? user.getGender() : 0); // 默认未知性别
         
         // 保存用户
-        User savedUser = userRepository.save(user);
+        User savedUser = writeTransaction.execute(status -> {
+            User saved = userRepository.save(user);
+            userChangeNotifier.notifyChanged(saved.getId());
+            return saved;
+        });
         
         logger.info("用户创建成功: ID={}, Username={}", savedUser.getId(), savedUser.getUsername());
         return convertToDTO(savedUser);
@@ -125,6 +183,7 @@ public class UserServiceImpl implements UserService {
         BeanUtil.copyProperties(userUpdateDTO, existingUser, "id", "username", "password", "createTime");
         
         User updatedUser = userRepository.save(existingUser);
+        userChangeNotifier.notifyChanged(id);
         
         logger.info("用户信息更新成功: ID={}, Username={}", updatedUser.getId(), updatedUser.getUsername());
         return convertToDTO(updatedUser);
@@ -140,6 +199,7 @@ public class UserServiceImpl implements UserService {
         }
         
         userRepository.deleteById(id);
+        userChangeNotifier.notifyChanged(id);
         logger.info("用户删除成功: ID={}", id);
     }
 
@@ -153,6 +213,7 @@ public class UserServiceImpl implements UserService {
         }
         
         userRepository.deleteAllById(ids);
+        userChangeNotifier.notifyChanged(ids);
         logger.info("批量删除用户成功: count={}", ids.size());
     }
 
@@ -164,6 +225,17 @@ public class UserServiceImpl implements UserService {
         return userPage.map(this::convertToDTO);
     }
 
+    @Override
+    public Page<UserDTO> getUsers(Pageable pageable, CountStrategy countStrategy) {
+        return switch (countStrategy) {
+            case EXACT -> getUsers(pageable);
+            case NONE -> UnknownTotalPage.of(userRepository.findAllSlice(pageable)).map(this::convertToDTO);
+            case CACHED -> toPage(userRepository.findAllSlice(pageable),
+                    () -> userCountService.cachedCount("all", userRepository::count));
+            case ESTIMATED -> toPage(userRepository.findAllSlice(pageable), userCountService::estimatedTotal);
+        };
+    }
+
     @Override
     public Page<UserDTO> searchUsers(String keyword, Pageable pageable) {
         logger.debug("搜索用户: keyword={}, page={}, size={}", keyword, pageable.getPageNumber(), pageable.getPageSize());
@@ -172,10 +244,68 @@ public class UserServiceImpl implements UserService {
             return getUsers(pageable);
         }
         
+        UserSearchIndex.SearchPage hits = userSearchIndex.search(keyword, pageable);
+        if (hits != null) {
+            return toPage(hits, pageable);
+        }
+
         Page<User> userPage = userRepository.findByKeyword(keyword, pageable);
         return userPage.map(this::convertToDTO);
     }
 
+    @Override
+    public Page<UserDTO> searchUsers(String keyword, Pageable pageable, CountStrategy countStrategy) {
+        if (StrUtil.isBlank(keyword)) {
+            return getUsers(pageable, countStrategy);
+        }
+        // 索引给出的总数本身就是精确的，无需另行统计
+        UserSearchIndex.SearchPage hits = userSearchIndex.search(keyword, pageable);
+        if (hits != null) {
+            return toPage(hits, pageable);
+        }
+        if (countStrategy == CountStrategy.EXACT) {
+            return userRepository.findByKeyword(keyword, pageable).map(this::convertToDTO);
+        }
+
+        Slice<User> slice = userRepository.findSliceByKeyword(keyword, pageable);
+        if (countStrategy == CountStrategy.NONE) {
+            return UnknownTotalPage.of(slice).map(this::convertToDTO);
+        }
+        return toPage(slice, () -> userCountService.cachedCount("keyword:" + keyword,
+                () -> userRepository.countByKeyword(keyword)));
+    }
+
+    @Override
+    public List<UserSuggestionDTO> suggestUsers(String prefix, int limit) {
+        if (StrUtil.isBlank(prefix)) {
+            return List.of();
+        }
+
+        List<UserSearchIndex.Suggestion> suggestions = userSearchIndex.suggest(prefix, limit);
+        if (suggestions != null) {
+            return suggestions.stream()
+                    .map(suggestion -> new UserSuggestionDTO(suggestion.userId(), suggestion.field(), suggestion.value()))
+                    .collect(Collectors.toList());
+        }
+
+        // 索引未就绪时按前缀查询数据库
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        List<UserSuggestionDTO> fallback = new ArrayList<>(limit);
+        for (User user : userRepository.findByPrefix(prefix.trim(), PageRequest.of(0, limit, Sort.by("username")))) {
+            addSuggestion(fallback, user.getId(), "username", user.getUsername(), normalized);
+            addSuggestion(fallback, user.getId(), "email", user.getEmail(), normalized);
+            addSuggestion(fallback, user.getId(), "phone", user.getPhone(), normalized);
+        }
+        return fallback.size() > limit ? fallback.subList(0, limit) : fallback;
+    }
+
+    private static void addSuggestion(List<UserSuggestionDTO> suggestions, Long userId, String field,
+                                      String value, String normalizedPrefix) {
+        if (value != null && value.toLowerCase(Locale.ROOT).startsWith(normalizedPrefix)) {
+            suggestions.add(new UserSuggestionDTO(userId, field, value.toLowerCase(Locale.ROOT)));
+        }
+    }
+
     @Override
     public Page<UserDTO> getUsersByStatus(Integer status, Pageable pageable) {
         logger.debug("根据状态查询用户: status={}, page={}, size={}", status, pageable.getPageNumber(), pageable.getPageSize());
@@ -184,6 +314,115 @@ public class UserServiceImpl implements UserService {
         return userPage.map(this::convertToDTO);
     }
 
+    @Override
+    public Page<UserDTO> getUsersByStatus(Integer status, Pageable pageable, CountStrategy countStrategy) {
+        return switch (countStrategy) {
+            case EXACT -> getUsersByStatus(status, pageable);
+            case NONE -> UnknownTotalPage.of(userRepository.findSliceByStatus(status, pageable)).map(this::convertToDTO);
+            case CACHED -> toPage(userRepository.findSliceByStatus(status, pageable),
+                    () -> userCountService.cachedCount("status:" + status, () -> userRepository.countByStatus(status)));
+            case ESTIMATED -> toPage(userRepository.findSliceByStatus(status, pageable),
+                    () -> userCountService.estimatedCountByStatus(status));
+        };
+    }
+
+    /**
+     * 索引只返回当前页ID，按索引顺序回填实体；索引与数据库之间短暂不一致的行直接跳过
+     */
+    private Page<UserDTO> toPage(UserSearchIndex.SearchPage hits, Pageable pageable) {
+        Map<Long, User> users = userRepository.findAllById(hits.userIds()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UserDTO> content = hits.userIds().stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    /**
+     * 切片加上按策略得到的总数组装为分页；非空的最后一页可由切片本身推出精确总数，不再取统计值
+     */
+    private Page<UserDTO> toPage(Slice<User> slice, LongSupplier total) {
+        List<UserDTO> content = slice.getContent().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        Pageable pageable = slice.getPageable();
+        long seen = pageable.getOffset() + content.size();
+        if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(content, pageable, seen);
+        }
+        // 缓存或估算的总数可能滞后，至少不小于已经看到的行数
+        return new PageImpl<>(content, pageable, Math.max(total.getAsLong(), seen + (slice.hasNext() ? 1 : 0)));
+    }
+
+    @Override
+    public CursorPage<UserDTO> getUsersByCursor(String cursor, int size, String sortBy, Sort.Direction direction) {
+        logger.debug("游标分页查询用户: size={}, sortBy={}, direction={}", size, sortBy, direction);
+        return findByCursor(null, cursor, size, sortBy, direction);
+    }
+
+    @Override
+    public CursorPage<UserDTO> searchUsersByCursor(String keyword, String cursor, int size, String sortBy,
+                                                   Sort.Direction direction) {
+        logger.debug("游标分页搜索用户: keyword={}, size={}", keyword, size);
+        if (StrUtil.isBlank(keyword)) {
+            return getUsersByCursor(cursor, size, sortBy, direction);
+        }
+        String pattern = "%" + keyword + "%";
+        Specification<User> filter = (root, query, cb) -> cb.or(
+                cb.like(root.get("username"), pattern),
+                cb.like(root.get("realName"), pattern),
+                cb.like(root.get("email"), pattern),
+                cb.like(root.get("phone"), pattern));
+        return findByCursor(filter, cursor, size, sortBy, direction);
+    }
+
+    @Override
+    public CursorPage<UserDTO> getUsersByStatusByCursor(Integer status, String cursor, int size, String sortBy,
+                                                        Sort.Direction direction) {
+        logger.debug("游标分页按状态查询用户: status={}, size={}", status, size);
+        Specification<User> filter = (root, query, cb) -> cb.equal(root.get("status"), status);
+        return findByCursor(filter, cursor, size, sortBy, direction);
+    }
+
+    /**
+     * 键集分页：多取一行判断是否还有下一页，以本页最后一行的 (排序字段, id) 作为下一页游标
+     */
+    private CursorPage<UserDTO> findByCursor(Specification<User> filter, String cursor, int size, String sortBy,
+                                             Sort.Direction direction) {
+        if (!UserCursorRepository.KEYSET_SORT_FIELDS.contains(sortBy)) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "不支持的排序字段: " + sortBy);
+        }
+        KeysetCursor after = StrUtil.isBlank(cursor) ? null : KeysetCursor.decode(cursor, UserCursorRepository.KEYSET_SORT_VALUE_PARSERS);
+        if (after != null && (!after.sortField().equals(sortBy) || after.direction() != direction)) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "分页游标与排序参数不一致");
+        }
+
+        List<User> rows = userRepository.findAfter(filter, sortBy, direction, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<User> users = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            User last = users.get(users.size() - 1);
+            nextCursor = new KeysetCursor(sortBy, direction, sortValueOf(last, sortBy), last.getId()).encode();
+        }
+        List<UserDTO> items = users.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    private static Object sortValueOf(User user, String sortBy) {
+        return switch (sortBy) {
+            case "createTime" -> user.getCreateTime();
+            case "username" -> user.getUsername();
+            case "email" -> user.getEmail();
+            default -> user.getStatus();
+        };
+    }
+
     @Override
     @CacheEvict(value = "user", allEntries = true)
     public void enableUser(Long id) {
@@ -208,22 +447,26 @@ public class UserServiceImpl implements UserService {
         }
         
         userRepository.batchUpdateStatus(ids, status);
+        userChangeNotifier.notifyChanged(ids);
         logger.info("批量更新用户状态成功: count={}", ids.size());
     }
 
     @Override
     @CacheEvict(value = "user", allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetPassword(Long id, String newPassword) {
         logger.info("重置用户密码: ID={}", id);
         
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(ResultCode.USER_NOT_FOUND));
+        // 加密新密码（事务外）
+        String encodedPassword = passwordHashingService.encode(newPassword);
         
-        // 加密新密码
-        String encodedPassword = BCrypt.hashpw(newPassword);
-        user.setPassword(encodedPassword);
-        
-        userRepository.save(user);
+        writeTransaction.executeWithoutResult(status -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new BusinessException(ResultCode.USER_NOT_FOUND));
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+            userChangeNotifier.notifyChanged(id);
+        });
         logger.info("用户密码重置成功: ID={}", id);
     }
 
@@ -231,7 +474,7 @@ public class UserServiceImpl implements UserService {
     public void updateLastLoginInfo(Long id, String loginIp) {
         logger.debug("更新用户最后登录信息: ID={}, IP={}", id, loginIp);
         
-        userRepository.updateLastLoginInfo(id, LocalDateTime.now(), loginIp);
+        lastLoginRecorder.record(id, LocalDateTime.now(), loginIp);
     }
 
     @Override
@@ -286,6 +529,7 @@ public class UserServiceImpl implements UserService {
         
         user.setStatus(status);
         userRepository.save(user);
+        userChangeNotifier.notifyChanged(id);
     }
 
     /**
@@ -1,11 +1,17 @@
 package com.miniservehub.util;
 
 import com.miniservehub.config.JwtProperties;
+import com.miniservehub.security.LoginUser;
+import com.miniservehub.security.TokenPair;
+import com.miniservehub.security.VerifiedToken;
+import com.miniservehub.security.VerifiedTokenCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -14,6 +20,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -27,37 +35,67 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    /**
+     * 刷新令牌的固定声明，所有刷新令牌共用
+     */
+    private static final Map<String, Object> REFRESH_CLAIMS = Map.of("type", VerifiedToken.TYPE_REFRESH);
+
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     /**
-     * 获取密钥
+     * 签名密钥（启动时派生一次）
      */
-    private SecretKey getSigningKey() {
+    private SecretKey signingKey;
+
+    /**
+     * 预构建的解析器，线程安全，可复用
+     */
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
         byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    /**
+     * 解析并验证token（签名与过期时间），整个请求只需调用一次
+     * 启用已验证令牌缓存时，重复出现的token直接返回缓存结果
+     *
+     * @param token 原始token
+     * @return 已验证的令牌
+     * @throws JwtException 签名无效、格式错误或已过期
+     */
+    public VerifiedToken verifyToken(String token) {
+        return verifiedTokenCache.get(token, t -> new VerifiedToken(getAllClaimsFromToken(t)));
     }
 
     /**
      * 从token中获取用户名
      */
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verifyToken(token).getSubject();
     }
 
     /**
      * 从token中获取过期时间
      */
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return verifyToken(token).getExpiration();
     }
 
     /**
      * 从token中获取指定声明
      */
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verifyToken(token).getClaims());
     }
 
     /**
@@ -65,11 +103,7 @@ public class JwtUtil {
      */
     private Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             logger.error("JWT解析失败: {}", e.getMessage());
             throw e;
@@ -81,8 +115,8 @@ public class JwtUtil {
      */
     public Boolean isTokenExpired(String token) {
         try {
-            final Date expiration = getExpirationDateFromToken(token);
-            return expiration.before(new Date());
+            // 解析器会拒绝已过期的token，能解析成功即未过期
+            return verifyToken(token).getExpirationMillis() < System.currentTimeMillis();
         } catch (JwtException e) {
             return true;
         }
@@ -92,32 +126,91 @@ public class JwtUtil {
      * 生成访问令牌
      */
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), jwtProperties.getExpiration());
+        Date now = new Date();
+        return createToken(accessClaims(userDetails), userDetails.getUsername(), now,
+                expiryOf(now, jwtProperties.getExpiration()));
     }
 
     /**
-     * 生成刷新令牌
+     * 一次签发访问令牌与刷新令牌
+     * 两个令牌共用同一签发时间，过期时间由签发参数直接得出，不再回头解析令牌
      */
-    public String generateRefreshToken(UserDetails userDetails) {
+    public TokenPair issueTokenPair(UserDetails userDetails) {
+        Date now = new Date();
+        Date accessExpiry = expiryOf(now, jwtProperties.getExpiration());
+        Date refreshExpiry = expiryOf(now, jwtProperties.getRefreshExpiration());
+        String username = userDetails.getUsername();
+        return new TokenPair(
+                createToken(accessClaims(userDetails), username, now, accessExpiry), accessExpiry.getTime(),
+                createToken(REFRESH_CLAIMS, username, now, refreshExpiry), refreshExpiry.getTime());
+    }
+
+    private Map<String, Object> accessClaims(UserDetails userDetails) {
+        if (!jwtProperties.isStatelessAuthorities()) {
+            return Map.of();
+        }
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
-        return createToken(claims, userDetails.getUsername(), jwtProperties.getRefreshExpiration());
+        putAuthorityClaims(claims, userDetails);
+        return claims;
     }
 
     /**
-     * 创建token
+     * 是否启用无状态鉴权（访问令牌内嵌角色与权限）
      */
-    private String createToken(Map<String, Object> claims, String subject, Long expiration) {
+    public boolean isStatelessAuthoritiesEnabled() {
+        return jwtProperties.isStatelessAuthorities();
+    }
+
+    /**
+     * 写入内嵌授权声明：角色编码与权限编码以逗号拼接，附带用户ID、状态和版本
+     */
+    private void putAuthorityClaims(Map<String, Object> claims, UserDetails userDetails) {
+        StringJoiner roles = new StringJoiner(VerifiedToken.CODE_SEPARATOR);
+        StringJoiner permissions = new StringJoiner(VerifiedToken.CODE_SEPARATOR);
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            String code = authority.getAuthority();
+            if (code.startsWith(VerifiedToken.ROLE_PREFIX)) {
+                roles.add(code.substring(VerifiedToken.ROLE_PREFIX.length()));
+            } else {
+                permissions.add(code);
+            }
+        }
+        claims.put(VerifiedToken.CLAIM_ROLES, roles.toString());
+        claims.put(VerifiedToken.CLAIM_PERMISSIONS, permissions.toString());
+
+        if (userDetails instanceof LoginUser loginUser) {
+            claims.put(VerifiedToken.CLAIM_USER_ID, loginUser.getId());
+            claims.put(VerifiedToken.CLAIM_STATUS, loginUser.getStatus());
+            if (loginUser.getVersion() > 0) {
+                claims.put(VerifiedToken.CLAIM_VERSION, loginUser.getVersion());
+            }
+        }
+    }
+
+    /**
+     * 生成刷新令牌
+     */
+    public String generateRefreshToken(UserDetails userDetails) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration * 1000);
+        return createToken(REFRESH_CLAIMS, userDetails.getUsername(), now,
+                expiryOf(now, jwtProperties.getRefreshExpiration()));
+    }
 
+    private static Date expiryOf(Date issuedAt, Long expirationSeconds) {
+        return new Date(issuedAt.getTime() + expirationSeconds * 1000);
+    }
+
+    /**
+     * 创建token（使用启动时派生的签名密钥）
+     */
+    private String createToken(Map<String, Object> claims, String subject, Date issuedAt, Date expiryDate) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(now)
+                .issuedAt(issuedAt)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -126,23 +219,28 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = getUsernameFromToken(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return validateToken(verifyToken(token), userDetails);
         } catch (JwtException e) {
             logger.error("JWT验证失败: {}", e.getMessage());
             return false;
         }
     }
 
+    /**
+     * 验证已解析的token是否属于指定用户
+     */
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.getSubject() != null
+                && verifiedToken.getSubject().equals(userDetails.getUsername())
+                && verifiedToken.getExpirationMillis() > System.currentTimeMillis();
+    }
+
     /**
      * 验证token格式和签名
      */
     public Boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            verifyToken(token);
             return true;
         } catch (JwtException e) {
             logger.error("JWT验证失败: {}", e.getMessage());
@@ -155,8 +253,7 @@ public class JwtUtil {
      */
     public Boolean isRefreshToken(String token) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            return "refresh".equals(claims.get("type"));
+            return verifyToken(token).isRefreshToken();
         } catch (JwtException e) {
             return false;
         }
@@ -177,9 +274,7 @@ public class JwtUtil {
      */
     public Long getTokenRemainingTime(String token) {
         try {
-            Date expiration = getExpirationDateFromToken(token);
-            long remaining = (expiration.getTime() - System.currentTimeMillis()) / 1000;
-            return Math.max(0, remaining);
+            return verifyToken(token).getRemainingSeconds();
         } catch (JwtException e) {
             return 0L;
         }
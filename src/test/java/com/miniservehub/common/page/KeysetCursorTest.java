@@ -0,0 +1,123 @@
+package com.miniservehub.common.page;
+
+import com.miniservehub.common.result.ResultCode;
+import com.miniservehub.exception.BusinessException;
+import com.miniservehub.repository.UserCursorRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 键集分页游标单元测试
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class KeysetCursorTest {
+
+    private static final Map<String, Function<String, ?>> PARSERS = UserCursorRepository.KEYSET_SORT_VALUE_PARSERS;
+
+    @Test
+    @DisplayName("时间字段 - 编码后解码还原为LocalDateTime，保留纳秒")
+    void decode_CreateTime_RestoresLocalDateTime() {
+        // Given
+        LocalDateTime createTime = LocalDateTime.of(2024, 3, 15, 8, 30, 5, 123_456_789);
+        KeysetCursor cursor = new KeysetCursor("createTime", Sort.Direction.DESC, createTime, 1001L);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), PARSERS);
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.value()).isInstanceOf(LocalDateTime.class);
+    }
+
+    @Test
+    @DisplayName("整数字段 - 编码后解码还原为Integer")
+    void decode_Status_RestoresInteger() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor("status", Sort.Direction.ASC, 0, 42L);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), PARSERS);
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.value()).isInstanceOf(Integer.class);
+    }
+
+    @Test
+    @DisplayName("字符串字段 - 含分隔符、标记字符与非ASCII字符时原样还原")
+    void decode_StringWithSpecialCharacters_RestoredVerbatim() {
+        // Then
+        for (String username : new String[]{"alice", "Nancy", "V", "a\nb\nc", "张三|李四", " padded "}) {
+            KeysetCursor cursor = new KeysetCursor("username", Sort.Direction.ASC, username, 7L);
+            assertThat(KeysetCursor.decode(cursor.encode(), PARSERS)).as("username=%s", username).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    @DisplayName("字段值为NULL与空字符串 - 两者可区分")
+    void decode_NullAndEmptyValues_Distinguished() {
+        // Given
+        KeysetCursor nullEmail = new KeysetCursor("email", Sort.Direction.ASC, null, 3L);
+        KeysetCursor emptyEmail = new KeysetCursor("email", Sort.Direction.ASC, "", 3L);
+        KeysetCursor nullCreateTime = new KeysetCursor("createTime", Sort.Direction.DESC, null, Long.MAX_VALUE);
+
+        // Then
+        assertThat(nullEmail.encode()).isNotEqualTo(emptyEmail.encode());
+        assertThat(KeysetCursor.decode(nullEmail.encode(), PARSERS).value()).isNull();
+        assertThat(KeysetCursor.decode(emptyEmail.encode(), PARSERS).value()).isEqualTo("");
+        assertThat(KeysetCursor.decode(nullCreateTime.encode(), PARSERS)).isEqualTo(nullCreateTime);
+    }
+
+    @Test
+    @DisplayName("编码结果 - 为不含填充的URL安全Base64")
+    void encode_UrlSafeWithoutPadding() {
+        // Given
+        KeysetCursor cursor = new KeysetCursor("username", Sort.Direction.ASC, "???>>>~~~", 1L);
+
+        // When
+        String encoded = cursor.encode();
+
+        // Then
+        assertThat(encoded).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    @DisplayName("无效游标 - 统一抛出请求参数错误")
+    void decode_InvalidCursor_ThrowsBadRequest() {
+        // Then
+        String[] invalidCursors = {
+                "not base64!",
+                raw("2\nusername\nASC\n1\nValice"),
+                raw("1\nusername\nASC\n1"),
+                raw("1\nusername\nASC\n1\n"),
+                raw("1\npassword\nASC\n1\nVsecret"),
+                raw("1\nusername\nSIDEWAYS\n1\nValice"),
+                raw("1\nusername\nASC\none\nValice"),
+                raw("1\nstatus\nASC\n1\nVactive"),
+                raw("1\ncreateTime\nDESC\n1\nV2024-13-45T00:00"),
+        };
+        for (String cursor : invalidCursors) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor, PARSERS))
+                    .as("cursor=%s", cursor)
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("code")
+                    .isEqualTo(ResultCode.BAD_REQUEST.getCode());
+        }
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package com.miniservehub.repository;
+
+import com.miniservehub.common.page.KeysetCursor;
+import com.miniservehub.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户列表深翻页基准
+ * 按创建时间倒序分页，对比偏移分页（LIMIT offset,n + COUNT，原 PageRequest 方式）与键集分页
+ * （WHERE (createTime, id) < (?, ?) LIMIT n+1）在不同页码上的耗时中位数。
+ * 行数默认 {@value #DEFAULT_ROWS}，可通过 -Dbenchmark.user-rows=5000000 按500万行运行；
+ * 额外创建 (create_time, id) 索引，模拟InnoDB二级索引隐含主键列的效果
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserKeysetPaginationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserKeysetPaginationBenchmarkTest.class);
+
+    private static final int DEFAULT_ROWS = 200_000;
+
+    private static final int ROWS = Integer.getInteger("benchmark.user-rows", DEFAULT_ROWS);
+
+    private static final int PAGE_SIZE = 10;
+
+    private static final int REPEATS = 5;
+
+    private static final Sort.Direction DIRECTION = Sort.Direction.DESC;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO sys_user (username, password, email, status, user_type, gender, "
+                + "create_time, update_time, deleted) "
+                + "SELECT 'user' || X, '{bcrypt}hash', 'user' || X || '@example.com', MOD(X, 2), 2, 0, "
+                + "DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00'), "
+                + "DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00'), 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_bench_create_time_id ON sys_user (create_time, id)");
+        jdbcTemplate.execute("ANALYZE TABLE sys_user");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_bench_create_time_id");
+        jdbcTemplate.update("DELETE FROM sys_user");
+    }
+
+    @Test
+    @DisplayName("深翻页 - 键集分页耗时与页码无关，偏移分页随页码线性增长")
+    void compareOffsetAndKeysetByDepth() {
+        // Given
+        int lastPage = ROWS / PAGE_SIZE - 1;
+        Set<Integer> pages = new LinkedHashSet<>(List.of(0, 100, 1_000, lastPage / 2, lastPage));
+        pages.removeIf(page -> page > lastPage);
+        Sort sort = Sort.by(DIRECTION, "createTime").and(Sort.by(DIRECTION, "id"));
+
+        logger.info("{}", String.format("%10s %10s %14s %14s", "rows", "page", "offset(ms)", "keyset(ms)"));
+        List<double[]> results = new ArrayList<>();
+        for (int page : pages) {
+            KeysetCursor cursor = page == 0 ? null : cursorBefore(page * PAGE_SIZE);
+            Supplier<List<Long>> offset = () -> idsOf(userRepository.findAll(PageRequest.of(page, PAGE_SIZE, sort)));
+            Supplier<List<Long>> keyset = () -> idsOf(
+                    userRepository.findAfter(null, "createTime", DIRECTION, cursor, PAGE_SIZE + 1)
+                            .subList(0, PAGE_SIZE));
+
+            // Then：两种分页返回同一页数据
+            assertThat(keyset.get()).as("page=%d", page).isEqualTo(offset.get());
+
+            double offsetMillis = medianMillis(offset);
+            double keysetMillis = medianMillis(keyset);
+            logger.info("{}", String.format("%10d %10d %14.2f %14.2f", ROWS, page, offsetMillis, keysetMillis));
+            results.add(new double[]{offsetMillis, keysetMillis});
+        }
+
+        double[] first = results.get(0);
+        double[] deepest = results.get(results.size() - 1);
+        assertThat(deepest[1]).isLessThan(deepest[0]);
+        assertThat(deepest[1]).isLessThan(first[1] * 3 + 5);
+    }
+
+    /**
+     * 第 offset 行之前一行的 (create_time, id)，即前一页末尾的游标；不计入耗时
+     */
+    private KeysetCursor cursorBefore(int offset) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id, create_time FROM sys_user ORDER BY create_time DESC, id DESC LIMIT 1 OFFSET ?",
+                (rs, rowNum) -> new KeysetCursor("createTime", DIRECTION,
+                        rs.getObject("create_time", LocalDateTime.class), rs.getLong("id")),
+                offset - 1);
+    }
+
+    private static double medianMillis(Supplier<List<Long>> query) {
+        query.get();
+        long[] nanos = new long[REPEATS];
+        for (int i = 0; i < REPEATS; i++) {
+            long start = System.nanoTime();
+            assertThat(query.get()).hasSize(PAGE_SIZE);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[REPEATS / 2] / 1e6;
+    }
+
+    private static List<Long> idsOf(Page<User> page) {
+        return idsOf(page.getContent());
+    }
+
+    private static List<Long> idsOf(List<User> users) {
+        return users.stream().map(User::getId).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.miniservehub.repository;
+
+import com.miniservehub.entity.Role;
+import com.miniservehub.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 登录与 /auth/me 路径的SQL语句数回归测试
+ * 两条路径各只允许一条语句，且与用户拥有的角色数量无关
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryQueryCountTest {
+
+    private static final int ROLE_COUNT = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User("alice", "{bcrypt}hash");
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        user.setDeleted(0);
+        for (int i = 0; i < ROLE_COUNT; i++) {
+            Role role = new Role("ROLE_" + i, "角色" + i);
+            role.setCreateTime(now);
+            role.setUpdateTime(now);
+            role.setDeleted(0);
+            user.getRoles().add(entityManager.persist(role));
+        }
+        userId = entityManager.persist(user).getId();
+        entityManager.flush();
+        // 清空一级缓存，确保后续查询真正访问数据库
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("登录凭据查询 - 单条语句且不加载实体")
+    void findCredentialByUsername_SingleStatement() {
+        // When
+        UserCredential credential = userRepository.findCredentialByUsername("alice").orElseThrow();
+
+        // Then
+        assertThat(credential.getId()).isEqualTo(userId);
+        assertThat(credential.getPassword()).isEqualTo("{bcrypt}hash");
+        assertThat(credential.getStatus()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("按ID获取当前用户 - 角色在同一条语句中加载")
+    void findWithRolesById_SingleStatement() {
+        // When
+        User user = userRepository.findWithRolesById(userId).orElseThrow();
+
+        // Then
+        assertThat(roleCodes(user)).hasSize(ROLE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("按用户名获取当前用户 - 角色在同一条语句中加载")
+    void findWithRolesByUsername_SingleStatement() {
+        // When
+        User user = userRepository.findWithRolesByUsername("alice").orElseThrow();
+
+        // Then
+        assertThat(roleCodes(user)).hasSize(ROLE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * 按 /auth/me 构建响应的方式访问角色，触发任何延迟加载都会计入语句数
+     */
+    private static Set<String> roleCodes(User user) {
+        return user.getRoles().stream()
+                .map(Role::getRoleCode)
+                .collect(Collectors.toSet());
+    }
+}
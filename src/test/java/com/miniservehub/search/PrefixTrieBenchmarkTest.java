@@ -0,0 +1,133 @@
+package com.miniservehub.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 前缀补全基数树基准
+ * 按 UserSearchIndex 的方式为 {@value #USER_COUNT} 个用户写入用户名、邮箱、手机号三个补全键（约100万条），
+ * 输出GC后的堆占用增量（折算为每百万条目）与 top-{@value #LIMIT} 补全的单次耗时分布（p50/p99/p99.9）。
+ * 前缀长度1~8随机，短前缀命中大量键，是补全的最坏情况
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+class PrefixTrieBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefixTrieBenchmarkTest.class);
+
+    private static final int USER_COUNT = 340_000;
+
+    private static final int LIMIT = 10;
+
+    private static final int WARMUP_ITERATIONS = 100_000;
+
+    private static final int ITERATIONS = 200_000;
+
+    private static final String[] SYLLABLES = {"an", "bo", "chen", "da", "fei", "guo", "hu", "jin", "kai", "li",
+            "ming", "na", "ou", "ping", "qi", "rui", "shan", "tao", "wei", "xin", "yu", "zhang"};
+
+    private static final String[] DOMAINS = {"example.com", "mail.example.org", "corp.example.net", "qq.example.cn"};
+
+    private volatile int sink;
+
+    @Test
+    @DisplayName("约100万条补全键 - 每百万条目的内存占用与补全延迟分位数")
+    void measureMemoryAndLookupLatency() {
+        // Given
+        long heapBefore = usedHeap();
+        PrefixTrie trie = new PrefixTrie();
+        for (long id = 1; id <= USER_COUNT; id++) {
+            String[] keys = keysOf(id);
+            for (int field = 0; field < keys.length; field++) {
+                trie.put(keys[field], (id << 2) | field);
+            }
+        }
+        long retainedBytes = usedHeap() - heapBefore;
+        int entries = trie.size();
+        double bytesPerEntry = (double) retainedBytes / entries;
+
+        // When
+        Random random = new Random(42);
+        List<String> prefixes = new ArrayList<>(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            String key = keysOf(1 + random.nextInt(USER_COUNT))[random.nextInt(3)];
+            prefixes.add(key.substring(0, 1 + random.nextInt(Math.min(8, key.length()))));
+        }
+        List<PrefixTrie.Match> matches = new ArrayList<>(LIMIT);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            matches.clear();
+            trie.collect(prefixes.get(i % prefixes.size()), LIMIT, matches);
+            sink += matches.size();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            String prefix = prefixes.get(i % prefixes.size());
+            long start = System.nanoTime();
+            matches.clear();
+            trie.collect(prefix, LIMIT, matches);
+            nanos[i] = System.nanoTime() - start;
+            sink += matches.size();
+        }
+        Arrays.sort(nanos);
+
+        logger.info("{}", String.format("%10s %14s %14s %10s %10s %10s", "entries", "bytes/entry", "MB/million",
+                "p50(ns)", "p99(ns)", "p99.9(ns)"));
+        logger.info("{}", String.format("%10d %14.1f %14.1f %10d %10d %10d", entries, bytesPerEntry,
+                bytesPerEntry * 1_000_000 / (1 << 20), percentile(nanos, 0.50), percentile(nanos, 0.99),
+                percentile(nanos, 0.999)));
+
+        // Then：补全在微秒级完成，与总键数无关
+        assertThat(entries).isEqualTo(USER_COUNT * 3);
+        assertThat(retainedBytes).isPositive();
+        assertThat(percentile(nanos, 0.99)).isLessThan(1_000_000L);
+    }
+
+    /**
+     * 与 UserSearchIndex 归一化后的补全键形式一致：小写用户名、小写邮箱、只含数字的手机号
+     */
+    private static String[] keysOf(long id) {
+        long hash = mix(id);
+        String username = SYLLABLES[(int) (hash & 0xFFFF) % SYLLABLES.length]
+                + SYLLABLES[(int) ((hash >>> 16) & 0xFFFF) % SYLLABLES.length]
+                + id % 10_000;
+        String email = username + "." + id + "@" + DOMAINS[(int) ((hash >>> 32) & 0xFF) % DOMAINS.length];
+        String phone = "13" + String.format("%09d", (hash >>> 33) % 1_000_000_000L);
+        return new String[]{username, email, phone};
+    }
+
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    /**
+     * 多次GC后的已用堆大小，用于估算构建前后的常驻内存增量
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,220 @@
+package com.miniservehub.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 前缀补全基数树单元测试
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class PrefixTrieTest {
+
+    private static final List<String> WORDS = List.of(
+            "romane", "romanus", "romulus", "rubens", "ruber", "rubicon", "rubicundus");
+
+    @Test
+    @DisplayName("插入共享前缀的键 - 按字典序补全，前缀可止于边的中间")
+    void collect_SharedPrefixes_LexicographicOrder() {
+        // Given
+        PrefixTrie trie = new PrefixTrie();
+        for (int i = WORDS.size() - 1; i >= 0; i--) {
+            trie.put(WORDS.get(i), i);
+        }
+
+        // Then
+        assertThat(trie.size()).isEqualTo(WORDS.size());
+        assertThat(keysOf(trie, "r", 10)).isEqualTo(WORDS);
+        assertThat(keysOf(trie, "rom", 10)).containsExactly("romane", "romanus", "romulus");
+        assertThat(keysOf(trie, "roma", 10)).containsExactly("romane", "romanus");
+        assertThat(keysOf(trie, "rubic", 10)).containsExactly("rubicon", "rubicundus");
+        assertThat(keysOf(trie, "rubicon", 10)).containsExactly("rubicon");
+        assertThat(keysOf(trie, "rubiconx", 10)).isEmpty();
+        assertThat(keysOf(trie, "rox", 10)).isEmpty();
+        assertThat(keysOf(trie, "s", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("补全数量上限 - 收满即停止，空前缀或上限为0不返回结果")
+    void collect_Limit_StopsEarly() {
+        // Given
+        PrefixTrie trie = new PrefixTrie();
+        WORDS.forEach(word -> trie.put(word, 1));
+
+        // Then
+        assertThat(keysOf(trie, "r", 2)).containsExactly("romane", "romanus");
+        assertThat(keysOf(trie, "r", 0)).isEmpty();
+        assertThat(keysOf(trie, "", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("同一个键多个值 - 值按升序返回，重复的键值对被忽略")
+    void put_MultipleValuesPerKey_SortedAndDeduplicated() {
+        // Given
+        PrefixTrie trie = new PrefixTrie();
+
+        // When
+        trie.put("alice", 30);
+        trie.put("alice", 10);
+        trie.put("alice", 20);
+        trie.put("alice", 10);
+        trie.put("", 99);
+
+        // Then
+        assertThat(trie.size()).isEqualTo(3);
+        List<PrefixTrie.Match> matches = new ArrayList<>();
+        trie.collect("ali", 10, matches);
+        assertThat(matches).containsExactly(new PrefixTrie.Match("alice", 10), new PrefixTrie.Match("alice", 20),
+                new PrefixTrie.Match("alice", 30));
+    }
+
+    @Test
+    @DisplayName("键是另一个键的前缀 - 两者都可补全，短键在前")
+    void put_KeyIsPrefixOfAnother_BothCollected() {
+        // Given
+        PrefixTrie trie = new PrefixTrie();
+
+        // When
+        trie.put("abcd", 1);
+        trie.put("ab", 2);
+        trie.put("abce", 3);
+
+        // Then
+        assertThat(keysOf(trie, "a", 10)).containsExactly("ab", "abcd", "abce");
+        assertThat(keysOf(trie, "abc", 10)).containsExactly("abcd", "abce");
+    }
+
+    @Test
+    @DisplayName("删除键值对 - 不存在的键、值或只是前缀的键不受影响")
+    void remove_MissingEntries_NoChange() {
+        // Given
+        PrefixTrie trie = new PrefixTrie();
+        trie.put("romane", 1);
+        trie.put("romulus", 2);
+
+        // When
+        trie.remove("romane", 99);
+        trie.remove("rom", 1);
+        trie.remove("romanesque", 1);
+        trie.remove("x", 1);
+        trie.remove("", 1);
+
+        // Then
+        assertThat(trie.size()).isEqualTo(2);
+        assertThat(keysOf(trie, "r", 10)).containsExactly("romane", "romulus");
+    }
+
+    @Test
+    @DisplayName("删除后回收空节点并合并单子节点链 - 结构与只插入剩余键时一致")
+    void remove_LastValue_PrunesAndMergesNodes() {
+        // Given
+        PrefixTrie trie = new PrefixTrie();
+        WORDS.forEach(word -> trie.put(word, 1));
+
+        // When
+        for (String word : WORDS) {
+            if (!word.equals("rubicon")) {
+                trie.remove(word, 1);
+            }
+        }
+
+        // Then
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(keysOf(trie, "r", 10)).containsExactly("rubicon");
+        Object[] children = (Object[]) ReflectionTestUtils.getField(ReflectionTestUtils.getField(trie, "root"),
+                "children");
+        assertThat(children).hasSize(1);
+        assertThat(ReflectionTestUtils.getField(children[0], "label")).isEqualTo("rubicon");
+        assertThat((Object[]) ReflectionTestUtils.getField(children[0], "children")).isEmpty();
+
+        trie.remove("rubicon", 1);
+        assertThat(trie.size()).isZero();
+        assertThat((Object[]) ReflectionTestUtils.getField(ReflectionTestUtils.getField(trie, "root"), "children"))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("随机插入与删除 - 补全结果与有序映射模型一致")
+    void putAndRemove_Random_SameAsSortedMapModel() {
+        // Given
+        Random random = new Random(7);
+        PrefixTrie trie = new PrefixTrie();
+        TreeMap<String, TreeSet<Long>> model = new TreeMap<>();
+        int entries = 0;
+
+        for (int round = 0; round < 20_000; round++) {
+            String key = randomKey(random);
+            long value = random.nextInt(4);
+
+            // When
+            if (random.nextInt(3) == 0) {
+                trie.remove(key, value);
+                TreeSet<Long> values = model.get(key);
+                if (values != null && values.remove(value)) {
+                    entries--;
+                    if (values.isEmpty()) {
+                        model.remove(key);
+                    }
+                }
+            } else {
+                trie.put(key, value);
+                if (model.computeIfAbsent(key, k -> new TreeSet<>()).add(value)) {
+                    entries++;
+                }
+            }
+        }
+
+        // Then
+        assertThat(trie.size()).isEqualTo(entries);
+        for (int i = 0; i < 500; i++) {
+            String prefix = randomKey(random);
+            prefix = prefix.substring(0, 1 + random.nextInt(prefix.length()));
+            int limit = 1 + random.nextInt(20);
+            List<PrefixTrie.Match> matches = new ArrayList<>();
+            trie.collect(prefix, limit, matches);
+            assertThat(matches).as("prefix=%s, limit=%d", prefix, limit).isEqualTo(expected(model, prefix, limit));
+        }
+    }
+
+    private static String randomKey(Random random) {
+        int length = 1 + random.nextInt(6);
+        StringBuilder key = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<PrefixTrie.Match> expected(TreeMap<String, TreeSet<Long>> model, String prefix, int limit) {
+        List<PrefixTrie.Match> matches = new ArrayList<>();
+        for (Map.Entry<String, TreeSet<Long>> entry : model.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            for (Long value : entry.getValue()) {
+                if (matches.size() == limit) {
+                    return matches;
+                }
+                matches.add(new PrefixTrie.Match(entry.getKey(), value));
+            }
+        }
+        return matches;
+    }
+
+    private static List<String> keysOf(PrefixTrie trie, String prefix, int limit) {
+        List<PrefixTrie.Match> matches = new ArrayList<>();
+        trie.collect(prefix, limit, matches);
+        return matches.stream().map(PrefixTrie.Match::key).toList();
+    }
+}
@@ -0,0 +1,227 @@
+package com.miniservehub.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用户三元组倒排索引单元测试
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class TrigramIndexTest {
+
+    private static final long CREATE_TIME = 1_704_067_200_000L;
+
+    @Test
+    @DisplayName("关键词匹配 - 结果与逐条 LIKE %kw% 校验一致")
+    void match_RandomKeywords_SameAsSubstringScan() {
+        // Given
+        Random random = new Random(42);
+        List<IndexedUser> users = new ArrayList<>();
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 3_000; id++) {
+            IndexedUser user = new IndexedUser(id, "user" + random.nextInt(5_000), "张" + random.nextInt(100),
+                    random.nextInt(4) == 0 ? null : "u" + id + "@example.com",
+                    "138" + String.format("%08d", random.nextInt(100_000_000)), 1, CREATE_TIME + id);
+            users.add(user);
+            index.put(user);
+        }
+        List<String> keywords = new ArrayList<>(List.of("u", "12", "user1", "张3", "@example", "ple.co", "138000",
+                "example.com", "nobody", "r1@e"));
+        for (int i = 0; i < 200; i++) {
+            String text = users.get(random.nextInt(users.size())).username();
+            int start = random.nextInt(text.length());
+            keywords.add(text.substring(start, Math.min(text.length(), start + 1 + random.nextInt(5))));
+        }
+
+        for (String keyword : keywords) {
+            // When
+            List<Long> matched = idsOf(index, keyword);
+
+            // Then
+            List<Long> expected = users.stream()
+                    .filter(user -> contains(user, keyword))
+                    .map(IndexedUser::id)
+                    .toList();
+            assertThat(matched).as("keyword=%s", keyword).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("关键词跨越两个字段 - 不匹配")
+    void match_KeywordSpanningFields_NoMatch() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(user(1, "abc", "def", null, null));
+
+        // Then
+        assertThat(idsOf(index, "abc")).containsExactly(1L);
+        assertThat(idsOf(index, "def")).containsExactly(1L);
+        assertThat(idsOf(index, "cde")).isEmpty();
+        assertThat(idsOf(index, "cd")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("大小写与通配符 - 忽略大小写，% 与 _ 按字面匹配")
+    void match_CaseAndWildcards_MatchedLiterally() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(user(1, "Alice_Admin", null, "ALICE@Example.com", null));
+        index.put(user(2, "alicexadmin", null, null, null));
+        index.put(user(3, "100%off", null, null, null));
+
+        // Then
+        assertThat(idsOf(index, "alice")).containsExactly(1L, 2L);
+        assertThat(idsOf(index, "@example")).containsExactly(1L);
+        assertThat(idsOf(index, "e_a")).containsExactly(1L);
+        assertThat(idsOf(index, "_")).containsExactly(1L);
+        assertThat(idsOf(index, "0%o")).containsExactly(3L);
+        assertThat(idsOf(index, "%")).containsExactly(3L);
+        assertThat(idsOf(index, "")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("重复索引同一用户 - 替换旧文档，旧内容不再匹配")
+    void put_SameUserTwice_ReplacesOldDocument() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(user(1, "oldname", null, null, null));
+
+        // When
+        index.put(user(1, "newname", null, null, null));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.deadCount()).isEqualTo(1);
+        assertThat(idsOf(index, "oldname")).isEmpty();
+        assertThat(idsOf(index, "old")).isEmpty();
+        assertThat(idsOf(index, "newname")).containsExactly(1L);
+        assertThat(index.get(1).username()).isEqualTo("newname");
+    }
+
+    @Test
+    @DisplayName("移除用户 - 不再匹配，压缩后失效文档清零且结果不变")
+    void remove_ThenCompact_DropsDeadDocuments() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 3_000; id++) {
+            index.put(user(id, "user" + id, null, null, null));
+        }
+
+        // When
+        for (long id = 1; id <= 2_000; id++) {
+            index.remove(id);
+        }
+        index.remove(99_999);
+
+        // Then
+        assertThat(index.size()).isEqualTo(1_000);
+        assertThat(index.deadCount()).isEqualTo(2_000);
+        assertThat(index.needsCompaction()).isTrue();
+        assertThat(index.get(1)).isNull();
+        assertThat(idsOf(index, "user1")).isEmpty();
+        assertThat(idsOf(index, "user2")).hasSize(999);
+        assertThat(idsOf(index, "user3000")).containsExactly(3_000L);
+
+        TrigramIndex compacted = index.compact();
+        assertThat(compacted.size()).isEqualTo(1_000);
+        assertThat(compacted.deadCount()).isZero();
+        assertThat(compacted.needsCompaction()).isFalse();
+        assertThat(idsOf(compacted, "user2")).isEqualTo(idsOf(index, "user2"));
+        assertThat(idsOf(compacted, "user250")).containsExactly(2_500L, 2_501L, 2_502L, 2_503L, 2_504L,
+                2_505L, 2_506L, 2_507L, 2_508L, 2_509L);
+    }
+
+    @Test
+    @DisplayName("失效文档未超过阈值 - 不需要压缩")
+    void needsCompaction_FewDeadDocuments_False() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.put(user(id, "user" + id, null, null, null));
+            index.remove(id);
+        }
+
+        // Then
+        assertThat(index.size()).isZero();
+        assertThat(index.deadCount()).isEqualTo(100);
+        assertThat(index.needsCompaction()).isFalse();
+    }
+
+    @Test
+    @DisplayName("获取已索引用户 - 真实姓名与手机号为小写形式")
+    void get_IndexedUser_ReturnsStoredFields() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(new IndexedUser(7, "Bob", "Bob Smith", "Bob@Example.com", null, 0, CREATE_TIME));
+
+        // When
+        IndexedUser user = index.get(7);
+
+        // Then
+        assertThat(user).isEqualTo(new IndexedUser(7, "Bob", "bob smith", "Bob@Example.com", "", 0, CREATE_TIME));
+        assertThat(index.get(8)).isNull();
+    }
+
+    @Test
+    @DisplayName("排序分页 - 多字段排序、ID兜底，偏移超出时为空页")
+    void page_SortedWithOffset_ReturnsRequestedSlice() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(new IndexedUser(1, "carol", null, "c@example.com", null, 1, CREATE_TIME + 3));
+        index.put(new IndexedUser(2, "alice", null, null, null, 0, CREATE_TIME + 1));
+        index.put(new IndexedUser(3, "Bob", null, "B@example.com", null, 1, CREATE_TIME + 2));
+        index.put(new IndexedUser(4, "dave", null, "a@example.com", null, 1, CREATE_TIME + 1));
+        int[] matches = index.match("a");
+
+        // Then
+        assertThat(matches).hasSize(4);
+        assertThat(index.page(matches, Sort.by(Sort.Direction.DESC, "createTime"), 0, 10))
+                .containsExactly(1L, 3L, 2L, 4L);
+        assertThat(index.page(matches, Sort.by(Sort.Order.desc("status"), Sort.Order.asc("createTime")), 0, 10))
+                .containsExactly(4L, 3L, 1L, 2L);
+        // 只取前 offset+size 个（堆选）与整体排序的结果一致，用户名忽略大小写
+        assertThat(index.page(matches, Sort.by("username"), 0, 10)).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(index.page(matches, Sort.by("username"), 1, 2)).containsExactly(3L, 1L);
+        // NULL排在最前
+        assertThat(index.page(matches, Sort.by("email"), 0, 10)).containsExactly(2L, 4L, 3L, 1L);
+        assertThat(index.page(matches, Sort.unsorted(), 0, 10)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.page(matches, Sort.unsorted(), 4, 10)).isEmpty();
+        assertThat(index.page(matches, Sort.unsorted(), 0, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("内存排序支持的字段 - 不支持的字段需回退到数据库")
+    void supports_SortProperties() {
+        // Then
+        assertThat(TrigramIndex.supports(Sort.unsorted())).isTrue();
+        assertThat(TrigramIndex.supports(Sort.by("createTime", "id"))).isTrue();
+        assertThat(TrigramIndex.supports(Sort.by("realName"))).isFalse();
+    }
+
+    private static IndexedUser user(long id, String username, String realName, String email, String phone) {
+        return new IndexedUser(id, username, realName, email, phone, 1, CREATE_TIME + id);
+    }
+
+    private static List<Long> idsOf(TrigramIndex index, String keyword) {
+        int[] matches = index.match(keyword.toLowerCase(Locale.ROOT));
+        return index.page(matches, Sort.by("id"), 0, Math.max(1, matches.length));
+    }
+
+    private static boolean contains(IndexedUser user, String keyword) {
+        String lower = keyword.toLowerCase(Locale.ROOT);
+        return TrigramIndex.normalize(user.username()).contains(lower)
+                || TrigramIndex.normalize(user.realName()).contains(lower)
+                || TrigramIndex.normalize(user.email()).contains(lower)
+                || TrigramIndex.normalize(user.phone()).contains(lower);
+    }
+}
@@ -0,0 +1,139 @@
+package com.miniservehub.security;
+
+import com.miniservehub.config.AuthProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 密码哈希算法基准
+ * 在同一目标耗时下对比BCrypt、PBKDF2、Argon2：BCrypt与Argon2使用启动时的校准结果，
+ * PBKDF2按配置迭代次数实测后线性外推到目标耗时（不低于安全下限）。
+ * 输出各算法的参数、哈希与校验耗时中位数，并检查等价成本下各算法耗时处于同一量级
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 2;
+
+    private static final int ITERATIONS = 7;
+
+    private static final Duration TARGET_LATENCY = Duration.ofMillis(100);
+
+    private static final String PASSWORD = "Passw0rd!";
+
+    private int pbkdf2Iterations;
+
+    @Test
+    @DisplayName("等价成本 - 三种算法校准到同一目标耗时后的哈希与校验耗时")
+    void compareAlgorithmsAtEquivalentCost() {
+        // Given
+        pbkdf2Iterations = calibratedPbkdf2Iterations();
+        Map<String, PasswordEncoder> encoders = new LinkedHashMap<>();
+        encoders.put(PasswordEncoderFactory.BCRYPT, encoder(PasswordEncoderFactory.BCRYPT, pbkdf2Iterations));
+        encoders.put(PasswordEncoderFactory.PBKDF2, encoder(PasswordEncoderFactory.PBKDF2, pbkdf2Iterations));
+        encoders.put(PasswordEncoderFactory.ARGON2, encoder(PasswordEncoderFactory.ARGON2, pbkdf2Iterations));
+
+        // When
+        logger.info("{}", String.format("%-8s %-44s %12s %12s", "algo", "parameters", "encode(ms)", "matches(ms)"));
+        Map<String, Long> matchesMillis = new LinkedHashMap<>();
+        encoders.forEach((algorithm, encoder) -> matchesMillis.put(algorithm, report(algorithm, encoder)));
+
+        // Then：校准后的耗时与目标同一量级（BCrypt强度为整数，向下取整最多相差一倍）
+        long target = TARGET_LATENCY.toMillis();
+        matchesMillis.forEach((algorithm, millis) ->
+                assertThat(millis).as("algorithm=%s", algorithm).isBetween(target / 3, target * 3));
+    }
+
+    /**
+     * @return 校验耗时中位数（毫秒）
+     */
+    private long report(String algorithm, PasswordEncoder encoder) {
+        String hash = encoder.encode(PASSWORD);
+        assertThat(hash).startsWith("{" + algorithm + "}");
+        assertThat(encoder.matches(PASSWORD, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            encoder.matches(PASSWORD, encoder.encode(PASSWORD));
+        }
+        long[] encodeNanos = new long[ITERATIONS];
+        long[] matchesNanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            String encoded = encoder.encode(PASSWORD);
+            encodeNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            assertThat(encoder.matches(PASSWORD, encoded)).isTrue();
+            matchesNanos[i] = System.nanoTime() - start;
+        }
+        long encodeMillis = median(encodeNanos) / 1_000_000;
+        long matchesMillis = median(matchesNanos) / 1_000_000;
+
+        logger.info("{}", String.format("%-8s %-44s %12d %12d", algorithm, parameters(hash), encodeMillis,
+                matchesMillis));
+        return matchesMillis;
+    }
+
+    /**
+     * 以配置的迭代次数实测PBKDF2耗时，按迭代次数线性外推到目标耗时
+     */
+    private int calibratedPbkdf2Iterations() {
+        AuthProperties.PasswordPolicy defaults = new AuthProperties.PasswordPolicy();
+        int baseIterations = defaults.getPbkdf2Iterations();
+        PasswordEncoder probe = encoder(PasswordEncoderFactory.PBKDF2, baseIterations);
+        String hash = probe.encode(PASSWORD);
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            probe.matches(PASSWORD, hash);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long iterations = baseIterations * TARGET_LATENCY.toNanos() / Math.max(1L, median(nanos));
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(baseIterations, iterations));
+    }
+
+    private static PasswordEncoder encoder(String algorithm, int pbkdf2Iterations) {
+        AuthProperties.PasswordPolicy policy = new AuthProperties.PasswordPolicy();
+        policy.setAlgorithm(algorithm);
+        policy.setCalibrate(true);
+        policy.setTargetLatency(TARGET_LATENCY);
+        policy.setPbkdf2Iterations(pbkdf2Iterations);
+        return PasswordEncoderFactory.create(policy);
+    }
+
+    /**
+     * BCrypt与Argon2的参数写在哈希中；PBKDF2哈希不含迭代次数，显示外推得到的迭代次数
+     */
+    private String parameters(String hash) {
+        if (hash.startsWith("{" + PasswordEncoderFactory.BCRYPT + "}")) {
+            return "cost=" + hash.split("\\$")[2];
+        }
+        if (hash.startsWith("{" + PasswordEncoderFactory.ARGON2 + "}")) {
+            return hash.split("\\$")[3];
+        }
+        return "iterations=" + pbkdf2Iterations;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,206 @@
+package com.miniservehub.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 权限闭包单元测试
+ * 基础树：1 -> {2, 4}，2 -> {3}，5 为独立的根
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class PermissionClosureTest {
+
+    private final PermissionClosure closure = PermissionClosure.of(null, tree());
+
+    @Test
+    @DisplayName("全量构建 - 每个节点的后代集合含自身与全部子孙")
+    void of_FullBuild_ComputesDescendants() {
+        // Then
+        assertThat(closure.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(closure.descendantsOf(2L)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(closure.descendantsOf(3L)).containsExactly(3L);
+        assertThat(closure.descendantsOf(5L)).containsExactly(5L);
+        assertThat(closure.descendantsOf(99L)).isEmpty();
+        assertThat(closure.implies(1L, 3L)).isTrue();
+        assertThat(closure.implies(3L, 1L)).isFalse();
+        assertThat(closure.implies(5L, 3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("父节点为0或不存在 - 视为根节点")
+    void of_UnknownOrZeroParent_TreatedAsRoot() {
+        // Given
+        Map<Long, Long> parentIds = new HashMap<>();
+        parentIds.put(1L, 0L);
+        parentIds.put(2L, 42L);
+
+        // When
+        PermissionClosure built = PermissionClosure.of(null, parentIds);
+
+        // Then
+        assertThat(built.parentOf(1L)).isNull();
+        assertThat(built.parentOf(2L)).isNull();
+        assertThat(built.descendantsOf(1L)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("新增叶子节点 - 只更新祖先链上的后代集合")
+    void withNode_NewLeaf_AddedToAncestors() {
+        // When
+        PermissionClosure updated = closure.withNode(6L, 3L);
+
+        // Then
+        assertThat(updated.contains(6L)).isTrue();
+        assertThat(updated.parentOf(6L)).isEqualTo(3L);
+        assertThat(updated.descendantsOf(6L)).containsExactly(6L);
+        assertThat(updated.descendantsOf(3L)).containsExactlyInAnyOrder(3L, 6L);
+        assertThat(updated.descendantsOf(2L)).containsExactlyInAnyOrder(2L, 3L, 6L);
+        assertThat(updated.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 6L);
+        assertThat(updated.descendantsOf(5L)).containsExactly(5L);
+        // 原闭包不可变
+        assertThat(closure.contains(6L)).isFalse();
+        assertThat(closure.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("移动子树到新父节点 - 旧祖先移除、新祖先加入整棵子树")
+    void withNode_MoveSubtree_UpdatesOldAndNewAncestors() {
+        // When：将 2（含子节点 3）从 1 下移动到 5 下
+        PermissionClosure updated = closure.withNode(2L, 5L);
+
+        // Then
+        assertThat(updated.parentOf(2L)).isEqualTo(5L);
+        assertThat(updated.parentOf(3L)).isEqualTo(2L);
+        assertThat(updated.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(updated.descendantsOf(5L)).containsExactlyInAnyOrder(5L, 2L, 3L);
+        assertThat(updated.descendantsOf(2L)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(updated.implies(5L, 3L)).isTrue();
+        assertThat(updated.implies(1L, 3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("移动到兄弟节点之下 - 共同祖先的后代集合不变")
+    void withNode_MoveUnderSibling_CommonAncestorUnchanged() {
+        // When
+        PermissionClosure updated = closure.withNode(2L, 4L);
+
+        // Then
+        assertThat(updated.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(updated.descendantsOf(4L)).containsExactlyInAnyOrder(4L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("新父节点为null或不存在 - 节点成为根")
+    void withNode_NullOrUnknownParent_BecomesRoot() {
+        // When
+        PermissionClosure detached = closure.withNode(2L, null);
+        PermissionClosure unknownParent = closure.withNode(2L, 99L);
+
+        // Then
+        assertThat(detached.parentOf(2L)).isNull();
+        assertThat(detached.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(detached.descendantsOf(2L)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(unknownParent.parentOf(2L)).isNull();
+        assertThat(unknownParent.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("移动到自身子树内 - 拒绝形成环路")
+    void withNode_MoveUnderOwnDescendant_Rejected() {
+        // Then
+        assertThatThrownBy(() -> closure.withNode(1L, 3L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> closure.withNode(2L, 2L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("现有祖先链存在环路 - 挂到环上的节点被拒绝")
+    void withNode_CyclicAncestorChain_Rejected() {
+        // Given：7 与 8 互为父节点，全量构建时截断环路
+        Map<Long, Long> parentIds = tree();
+        parentIds.put(7L, 8L);
+        parentIds.put(8L, 7L);
+        PermissionClosure cyclic = PermissionClosure.of(null, parentIds);
+
+        // Then
+        assertThat(cyclic.implies(7L, 8L)).isTrue();
+        assertThat(cyclic.implies(8L, 7L)).isTrue();
+        assertThatThrownBy(() -> cyclic.withNode(9L, 7L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("环路");
+        // 不涉及环路的节点仍可正常更新
+        assertThat(cyclic.withNode(9L, 3L).descendantsOf(1L)).contains(9L);
+    }
+
+    @Test
+    @DisplayName("基于上一版本增量更新 - 结果与全量构建一致")
+    void of_IncrementalFromPrevious_MatchesFullBuild() {
+        // Given：新增 6 挂到 4 下，3 移动到 5 下
+        Map<Long, Long> parentIds = tree();
+        parentIds.put(6L, 4L);
+        parentIds.put(3L, 5L);
+
+        // When
+        PermissionClosure incremental = PermissionClosure.of(closure, parentIds);
+        PermissionClosure full = PermissionClosure.of(null, parentIds);
+
+        // Then
+        for (Long id : parentIds.keySet()) {
+            assertThat(incremental.descendantsOf(id)).as("descendantsOf(%d)", id)
+                    .isEqualTo(full.descendantsOf(id));
+            assertThat(incremental.parentOf(id)).as("parentOf(%d)", id).isEqualTo(full.parentOf(id));
+        }
+    }
+
+    @Test
+    @DisplayName("父子互换 - 移动顺序产生临时环路时回退为全量构建，结果正确")
+    void of_SwapParentAndChild_FallsBackToFullBuild() {
+        // Given：2 成为根，1 成为 2 的子节点
+        Map<Long, Long> parentIds = tree();
+        parentIds.put(2L, null);
+        parentIds.put(1L, 2L);
+
+        // When
+        PermissionClosure swapped = PermissionClosure.of(closure, parentIds);
+
+        // Then
+        assertThat(swapped.parentOf(1L)).isEqualTo(2L);
+        assertThat(swapped.parentOf(2L)).isNull();
+        assertThat(swapped.descendantsOf(2L)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(swapped.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("删除节点 - 全量重建，被删除节点不再出现在任何后代集合中")
+    void of_RemovedNode_RebuiltWithoutIt() {
+        // Given
+        Map<Long, Long> parentIds = tree();
+        parentIds.remove(3L);
+
+        // When
+        PermissionClosure rebuilt = PermissionClosure.of(closure, parentIds);
+
+        // Then
+        assertThat(rebuilt.contains(3L)).isFalse();
+        assertThat(rebuilt.descendantsOf(1L)).containsExactlyInAnyOrder(1L, 2L, 4L);
+    }
+
+    private static Map<Long, Long> tree() {
+        Map<Long, Long> parentIds = new HashMap<>();
+        parentIds.put(1L, null);
+        parentIds.put(2L, 1L);
+        parentIds.put(3L, 2L);
+        parentIds.put(4L, 1L);
+        parentIds.put(5L, null);
+        return parentIds;
+    }
+}
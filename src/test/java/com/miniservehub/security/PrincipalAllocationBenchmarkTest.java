@@ -0,0 +1,273 @@
+package com.miniservehub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.config.JwtProperties;
+import com.miniservehub.entity.Permission;
+import com.miniservehub.entity.Role;
+import com.miniservehub.entity.User;
+import com.miniservehub.service.CustomUserDetailsService;
+import com.miniservehub.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 认证请求内存分配基准
+ * 同一用户（3个角色、40个权限）携带同一JWT，对比每个认证请求在当前线程上分配的字节数：
+ * 原流程（以JPA User实体为主体，每次请求重新构建授权集合，注解鉴权时流式构建Set）与
+ * 当前流程（真实 JwtAuthenticationFilter，以 {@link LoginUser} 为主体，注解鉴权按位判断）。
+ * 两种流程都命中用户详情缓存、使用相同的令牌校验，差异只来自主体及其授权的处理方式
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+class PrincipalAllocationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalAllocationBenchmarkTest.class);
+
+    private static final int ROLE_COUNT = 3;
+
+    private static final int PERMISSIONS_PER_ROLE = 14;
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private static final int ITERATIONS = 100_000;
+
+    private static final String REQUIRED_PERMISSION = "module0:read";
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final AuthorityRegistry authorityRegistry = new AuthorityRegistry();
+
+    private final FilterChain filterChain = (request, response) -> { };
+
+    private JwtUtil jwtUtil;
+
+    private TokenRevocationService tokenRevocationService;
+
+    private User userEntity;
+
+    private LoginUser loginUser;
+
+    private volatile int sink;
+
+    @BeforeEach
+    void setUp() {
+        Set<Role> roles = new HashSet<>();
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        userEntity = new User("alice", "{bcrypt}hash");
+        userEntity.setId(1001L);
+        for (int r = 0; r < ROLE_COUNT; r++) {
+            Role role = new Role("R" + r, "角色" + r);
+            role.setId((long) r + 1);
+            // 相邻角色共享一个权限，合计40个权限
+            int first = r * (PERMISSIONS_PER_ROLE - 1);
+            for (int index = first; index < first + PERMISSIONS_PER_ROLE; index++) {
+                Permission permission = new Permission("module" + index + ":read", "权限" + index, 3);
+                permission.setId((long) index + 1);
+                role.getPermissions().add(permission);
+                authorities.add(new SimpleGrantedAuthority(permission.getPermissionCode()));
+            }
+            role.getUsers().add(userEntity);
+            roles.add(role);
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getRoleCode()));
+        }
+        userEntity.setRoles(roles);
+        loginUser = new LoginUser(1001L, "alice", 1, 0L, Set.of(1L, 2L, 3L), Set.copyOf(authorities),
+                authorityRegistry.bitsOf(authorities));
+
+        JwtProperties jwtProperties = new JwtProperties();
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "jwtProperties", jwtProperties);
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        verifiedTokenCache.init();
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtProperties", jwtProperties);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache", verifiedTokenCache);
+        jwtUtil.init();
+
+        tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "stringRedisTemplate", mock(StringRedisTemplate.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "redisMessageListenerContainer",
+                mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "authProperties", new AuthProperties());
+        ReflectionTestUtils.setField(tokenRevocationService, "meterRegistry", new SimpleMeterRegistry());
+        tokenRevocationService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("认证请求 - 轻量主体与JPA实体主体的每请求分配字节数")
+    void compareAllocatedBytesPerRequest() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(loginUser);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        JwtAuthenticationFilter filter = filter();
+        Cache<String, User> entityCache = Caffeine.newBuilder().maximumSize(10_000).recordStats().build();
+        entityCache.put(userEntity.getUsername(), userEntity);
+        AuthorityBits requiredMask = authorityRegistry.bitsOf("", new String[]{REQUIRED_PERMISSION});
+
+        RequestHandler legacy = () -> {
+            Authentication authentication = legacyAuthenticate(request, token, entityCache);
+            return legacyHasPermission(authentication) ? 1 : 0;
+        };
+        RequestHandler current = () -> {
+            filter.doFilterInternal(request, response, filterChain);
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            return authorityRegistry.bitsOf(authentication).containsAll(requiredMask) ? 1 : 0;
+        };
+
+        // Then：两种流程都认证成功并通过鉴权
+        assertThat(handle(legacy)).isEqualTo(1);
+        assertThat(handle(current)).isEqualTo(1);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        logger.info("{}", String.format("%-28s %14s %12s", "principal", "bytes/request", "ns/request"));
+        long before = report("User entity (legacy)", legacy);
+        long after = report("LoginUser", current);
+
+        assertThat(after).isLessThan(before);
+    }
+
+    /**
+     * @return 每请求分配字节数
+     */
+    private long report(String principal, RequestHandler handler) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += handle(handler);
+        }
+
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += handle(handler);
+        }
+        long nanos = (System.nanoTime() - start) / ITERATIONS;
+        long bytes = (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+
+        logger.info("{}", String.format("%-28s %14d %12d", principal, bytes, nanos));
+        return bytes;
+    }
+
+    /**
+     * 每个请求结束时清空安全上下文，与请求线程复用时的行为一致
+     */
+    private int handle(RequestHandler handler) throws Exception {
+        try {
+            return handler.handle();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * 原过滤器：以缓存的User实体为主体，授权集合每次从角色与权限重新构建
+     */
+    private Authentication legacyAuthenticate(MockHttpServletRequest request, String token,
+                                              Cache<String, User> entityCache) {
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+        if (tokenRevocationService.isRevoked(verifiedToken.getId())) {
+            return null;
+        }
+        User user = entityCache.getIfPresent(verifiedToken.getSubject());
+        if (user == null || !jwtUtil.validateToken(verifiedToken, user)) {
+            return null;
+        }
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(user, null, legacyAuthorities(user));
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return authToken;
+    }
+
+    /**
+     * 原 User.getAuthorities()：每次调用分配新的HashSet与授权对象
+     */
+    private static Set<GrantedAuthority> legacyAuthorities(User user) {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (Role role : user.getRoles()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getRoleCode()));
+            for (Permission permission : role.getPermissions()) {
+                authorities.add(new SimpleGrantedAuthority(permission.getPermissionCode()));
+            }
+        }
+        return authorities;
+    }
+
+    /**
+     * 原注解鉴权：从授权集合流式构建Set
+     */
+    private static boolean legacyHasPermission(Authentication authentication) {
+        Set<String> userPermissions = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return userPermissions.containsAll(Set.of(REQUIRED_PERMISSION));
+    }
+
+    private JwtAuthenticationFilter filter() {
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(loginUser);
+        UserDetailsCache userDetailsCache = new UserDetailsCache();
+        ReflectionTestUtils.setField(userDetailsCache, "authProperties", new AuthProperties());
+        ReflectionTestUtils.setField(userDetailsCache, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(userDetailsCache, "meterRegistry", new SimpleMeterRegistry());
+        userDetailsCache.init();
+        // 预先加载，计时阶段只命中缓存
+        userDetailsCache.get(loginUser.getUsername());
+
+        OpaqueTokenService opaqueTokenService = new OpaqueTokenService();
+        ReflectionTestUtils.setField(opaqueTokenService, "authProperties", new AuthProperties());
+
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsCache", userDetailsCache);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+        ReflectionTestUtils.setField(filter, "authorityRegistry", authorityRegistry);
+        ReflectionTestUtils.setField(filter, "opaqueTokenService", opaqueTokenService);
+        return filter;
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+
+        int handle() throws Exception;
+    }
+}
@@ -0,0 +1,223 @@
+package com.miniservehub.security;
+
+import com.miniservehub.config.AuthProperties;
+import com.miniservehub.config.JwtProperties;
+import com.miniservehub.entity.Permission;
+import com.miniservehub.entity.Role;
+import com.miniservehub.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * JWT与不透明令牌对比基准
+ * 对同一用户（3个角色、40个权限）分别签发内嵌授权的JWT与不透明令牌，比较：
+ * Authorization请求头字节数、单线程解析延迟、多线程解析吞吐量。
+ * Redis与用户缓存以内存实现代替，结果只反映CPU开销，不含Redis网络往返
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+class TokenModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenModeBenchmarkTest.class);
+
+    private static final String BEARER = "Bearer ";
+
+    private static final int ROLE_COUNT = 3;
+
+    private static final int PERMISSION_COUNT = 40;
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private static final int ITERATIONS = 50_000;
+
+    private static final int THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private final AuthorityRegistry authorityRegistry = new AuthorityRegistry();
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+
+    private JwtUtil jwtUtil;
+
+    private LoginUser loginUser;
+
+    private volatile int sink;
+
+    @BeforeEach
+    void setUp() {
+        RbacSnapshot snapshot = buildSnapshot();
+        Set<Long> roleIds = new HashSet<>();
+        for (long roleId = 1; roleId <= ROLE_COUNT; roleId++) {
+            roleIds.add(roleId);
+        }
+        Set<GrantedAuthority> authorities = snapshot.authoritiesOf(roleIds);
+        loginUser = new LoginUser(1001L, "alice", 1, 0L, roleIds, authorities, authorityRegistry.bitsOf(authorities));
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setStatelessAuthorities(true);
+        // 关闭已验证令牌缓存，每次都完整校验签名并解析声明
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "jwtProperties", jwtProperties);
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtProperties", jwtProperties);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache", verifiedTokenCache);
+        jwtUtil.init();
+    }
+
+    @Test
+    @DisplayName("JWT与不透明令牌 - 请求头字节数、解析延迟与吞吐量")
+    void compareTokenModes() throws Exception {
+        // Given
+        String jwt = jwtUtil.issueTokenPair(loginUser).accessToken();
+        OpaqueTokenService cachedService = opaqueTokenService(Duration.ofMinutes(5));
+        String opaque = cachedService.issueTokenPair(loginUser).accessToken();
+        // 本地缓存立即过期，每次解析都从（内存模拟的）Redis加载会话
+        OpaqueTokenService redisService = opaqueTokenService(Duration.ZERO);
+
+        Function<String, LoginUser> jwtResolver = token -> jwtUtil.verifyToken(token).getEmbeddedPrincipal(authorityRegistry);
+
+        // Then：两种模式解析出相同的主体
+        assertThat(codesOf(jwtResolver.apply(jwt))).isEqualTo(codesOf(loginUser));
+        assertThat(codesOf(cachedService.resolve(opaque))).isEqualTo(codesOf(loginUser));
+        assertThat(codesOf(redisService.resolve(opaque))).isEqualTo(codesOf(loginUser));
+
+        int jwtHeaderBytes = headerBytes(jwt);
+        int opaqueHeaderBytes = headerBytes(opaque);
+        assertThat(opaqueHeaderBytes).isEqualTo(BEARER.length() + 43);
+        assertThat(opaqueHeaderBytes).isLessThan(jwtHeaderBytes);
+
+        logger.info("{}", String.format("%-24s %12s %14s %16s", "mode", "header(B)", "latency(ns)", "throughput(op/s)"));
+        report("jwt (stateless)", jwtHeaderBytes, jwtResolver, jwt);
+        report("opaque (local cache)", opaqueHeaderBytes, cachedService::resolve, opaque);
+        report("opaque (redis load)", opaqueHeaderBytes, redisService::resolve, opaque);
+    }
+
+    private void report(String mode, int headerBytes, Function<String, LoginUser> resolver, String token)
+            throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += resolver.apply(token).getAuthorities().size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += resolver.apply(token).getAuthorities().size();
+        }
+        long latency = (System.nanoTime() - start) / ITERATIONS;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(THREADS);
+            start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    int sum = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        sum += resolver.apply(token).getAuthorities().size();
+                    }
+                    return sum;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                sink += future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long throughput = (long) THREADS * ITERATIONS * 1_000_000_000L / (System.nanoTime() - start);
+
+        logger.info("{}", String.format("%-24s %12d %14d %16d", mode, headerBytes, latency, throughput));
+    }
+
+    @SuppressWarnings("unchecked")
+    private OpaqueTokenService opaqueTokenService(Duration cacheTtl) {
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class, withSettings().stubOnly());
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(valueOperations.get(any())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class, withSettings().stubOnly());
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        UserDetailsCache userDetailsCache = mock(UserDetailsCache.class, withSettings().stubOnly());
+        when(userDetailsCache.get(loginUser.getUsername())).thenReturn(loginUser);
+
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.setTokenMode(AuthProperties.TOKEN_MODE_OPAQUE);
+        authProperties.getOpaqueToken().setCacheTtl(cacheTtl);
+
+        OpaqueTokenService service = new OpaqueTokenService();
+        ReflectionTestUtils.setField(service, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(service, "redisMessageListenerContainer",
+                mock(RedisMessageListenerContainer.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(service, "userDetailsCache", userDetailsCache);
+        ReflectionTestUtils.setField(service, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(service, "jwtProperties", new JwtProperties());
+        ReflectionTestUtils.setField(service, "authProperties", authProperties);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        service.init();
+        return service;
+    }
+
+    /**
+     * 3个角色，每个角色授予一个模块的全部权限
+     */
+    private static RbacSnapshot buildSnapshot() {
+        List<Permission> permissions = new ArrayList<>(PERMISSION_COUNT);
+        List<Role> roles = new ArrayList<>(ROLE_COUNT);
+        for (int r = 1; r <= ROLE_COUNT; r++) {
+            Role role = new Role("MODULE_ADMIN_" + r, "角色" + r);
+            role.setId((long) r);
+            roles.add(role);
+        }
+        for (int p = 1; p <= PERMISSION_COUNT; p++) {
+            Permission permission = new Permission(String.format("system:module%02d:operation%02d", p % ROLE_COUNT, p),
+                    "权限" + p, 2);
+            permission.setId((long) p);
+            permissions.add(permission);
+            roles.get(p % ROLE_COUNT).getPermissions().add(permission);
+        }
+        return RbacSnapshot.build(1L, roles, permissions, null);
+    }
+
+    private static int headerBytes(String token) {
+        return (BEARER + token).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static Set<String> codesOf(LoginUser user) {
+        return user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
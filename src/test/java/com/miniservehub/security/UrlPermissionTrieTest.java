@@ -0,0 +1,189 @@
+package com.miniservehub.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 接口权限路径前缀树单元测试
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class UrlPermissionTrieTest {
+
+    private final AuthorityRegistry authorityRegistry = new AuthorityRegistry();
+
+    @Test
+    @DisplayName("字面段与变量段并存 - 字面段优先")
+    void match_LiteralAndVariable_LiteralWins() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "/users/{id}", "system:user:query")
+                .add("GET", "/users/me", "system:user:self")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("GET", "/users/me").permissionCodes()).containsExactly("system:user:self");
+        assertThat(trie.match("GET", "/users/42").permissionCodes()).containsExactly("system:user:query");
+        assertThat(trie.match("GET", "/users/42").pattern()).isEqualTo("/users/{id}");
+    }
+
+    @Test
+    @DisplayName("字面段分支后续不匹配 - 回溯到变量段分支")
+    void match_LiteralBranchDeadEnd_BacktracksToVariable() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "/users/me", "system:user:self")
+                .add("GET", "/users/{id}/roles", "system:user:roles")
+                .build(authorityRegistry);
+
+        // When
+        UrlPermissionTrie.Route route = trie.match("GET", "/users/me/roles");
+
+        // Then
+        assertThat(route).isNotNull();
+        assertThat(route.pattern()).isEqualTo("/users/{id}/roles");
+    }
+
+    @Test
+    @DisplayName("变量段分支后续不匹配 - 回溯到多段通配分支")
+    void match_VariableBranchDeadEnd_BacktracksToDoubleWildcard() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "/files/{id}/meta", "system:file:meta")
+                .add("GET", "/files/**", "system:file:read")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("GET", "/files/7/meta").pattern()).isEqualTo("/files/{id}/meta");
+        assertThat(trie.match("GET", "/files/7/content").pattern()).isEqualTo("/files/**");
+    }
+
+    @Test
+    @DisplayName("末尾多段通配 - 匹配零个或多个段")
+    void match_TrailingDoubleWildcard_MatchesZeroOrMoreSegments() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("*", "/system/**", "system:admin")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("GET", "/system")).isNotNull();
+        assertThat(trie.match("GET", "/system/config")).isNotNull();
+        assertThat(trie.match("DELETE", "/system/a/b/c")).isNotNull();
+        assertThat(trie.match("GET", "/systems")).isNull();
+    }
+
+    @Test
+    @DisplayName("中间多段通配 - 吞掉任意段后继续匹配后续字面段")
+    void match_InnerDoubleWildcard_MatchesFollowingLiteral() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "/files/**/download", "system:file:download")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("GET", "/files/download")).isNotNull();
+        assertThat(trie.match("GET", "/files/a/download")).isNotNull();
+        assertThat(trie.match("GET", "/files/a/b/c/download")).isNotNull();
+        assertThat(trie.match("GET", "/files/a/b")).isNull();
+        assertThat(trie.match("GET", "/files/a/download/extra")).isNull();
+    }
+
+    @Test
+    @DisplayName("单段变量 - 只匹配恰好一个段，* 与 {var} 等价")
+    void match_SingleSegmentVariable_MatchesExactlyOneSegment() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("PUT", "/users/{id}", "system:user:edit")
+                .add("PUT", "/roles/*/permissions", "system:role:grant")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("PUT", "/users/1")).isNotNull();
+        assertThat(trie.match("PUT", "/users")).isNull();
+        assertThat(trie.match("PUT", "/users/1/2")).isNull();
+        assertThat(trie.match("PUT", "/roles/3/permissions")).isNotNull();
+        assertThat(trie.match("PUT", "/roles/permissions")).isNull();
+    }
+
+    @Test
+    @DisplayName("指定方法没有匹配的路由 - 回退到不限方法的路由")
+    void match_MethodTreeMisses_FallsBackToAnyMethod() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("POST", "/users", "system:user:add")
+                .add("*", "/users", "system:user:list")
+                .add(null, "/roles/**", "system:role:list")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("POST", "/users").permissionCodes()).containsExactly("system:user:add");
+        assertThat(trie.match("GET", "/users").permissionCodes()).containsExactly("system:user:list");
+        // POST树存在但路径不匹配时同样回退
+        assertThat(trie.match("POST", "/roles/1").permissionCodes()).containsExactly("system:role:list");
+        assertThat(trie.match(null, "/users").permissionCodes()).containsExactly("system:user:list");
+    }
+
+    @Test
+    @DisplayName("方法名大小写与首尾空白 - 注册与匹配时统一处理")
+    void match_MethodCaseAndWhitespace_Normalized() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add(" delete ", "/users/{id}", "system:user:delete")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("DELETE", "/users/1")).isNotNull();
+        assertThat(trie.match("delete", "/users/1")).isNotNull();
+        assertThat(trie.match("GET", "/users/1")).isNull();
+    }
+
+    @Test
+    @DisplayName("同一方法与路径注册多个权限 - 合并为任一即可")
+    void build_DuplicateRoute_MergesPermissionCodes() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "/users", "system:user:list")
+                .add("GET", "/users", "system:user:query")
+                .build(authorityRegistry);
+
+        // When
+        UrlPermissionTrie.Route route = trie.match("GET", "/users");
+
+        // Then
+        assertThat(trie.getRouteCount()).isEqualTo(1);
+        assertThat(route.permissionCodes()).containsExactlyInAnyOrder("system:user:list", "system:user:query");
+        assertThat(route.mask().contains(authorityRegistry.idOf("system:user:list"))).isTrue();
+        assertThat(route.mask().contains(authorityRegistry.idOf("system:user:query"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("多余斜杠 - 空段被忽略")
+    void match_RedundantSlashes_Ignored() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "users/{id}/", "system:user:query")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(trie.match("GET", "//users//1/")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("空树或无路由守护 - 返回null")
+    void match_NoRoute_ReturnsNull() {
+        // Given
+        UrlPermissionTrie trie = UrlPermissionTrie.builder()
+                .add("GET", "/users", "system:user:list")
+                .build(authorityRegistry);
+
+        // Then
+        assertThat(UrlPermissionTrie.EMPTY.match("GET", "/users")).isNull();
+        assertThat(UrlPermissionTrie.EMPTY.getRouteCount()).isZero();
+        assertThat(trie.match("GET", "/roles")).isNull();
+        assertThat(trie.match("GET", "/")).isNull();
+    }
+}
@@ -0,0 +1,230 @@
+package com.miniservehub.service;
+
+import com.miniservehub.config.JwtProperties;
+import com.miniservehub.dto.AuthResponse;
+import com.miniservehub.dto.LoginRequest;
+import com.miniservehub.entity.User;
+import com.miniservehub.repository.UserRepository;
+import com.miniservehub.security.AuthorityBits;
+import com.miniservehub.security.LoginUser;
+import com.miniservehub.security.OpaqueTokenService;
+import com.miniservehub.security.RbacSnapshot;
+import com.miniservehub.security.TokenRevocationService;
+import com.miniservehub.security.VerifiedTokenCache;
+import com.miniservehub.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 登录压测：连接池不再是吞吐瓶颈
+ * 连接池限制为 {@value #POOL_SIZE} 个连接，{@value #THREADS} 个线程并发登录，密码校验以固定耗时模拟BCrypt
+ * （排除CPU核数的影响，只观察连接池）。对比两种执行方式：
+ * 整个登录运行在一个事务内（原类级 @Transactional，校验期间持有连接）与当前实现（事务外校验）。
+ * 前者同时进行的密码校验数不超过连接数，后者不受连接数限制
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + AuthServiceLoginLoadTest.POOL_SIZE,
+        "spring.datasource.druid.max-active=" + AuthServiceLoginLoadTest.POOL_SIZE
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuthServiceLoginLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceLoginLoadTest.class);
+
+    static final int POOL_SIZE = 4;
+
+    private static final int THREADS = 32;
+
+    private static final int LOGINS_PER_THREAD = 10;
+
+    private static final int USER_COUNT = 64;
+
+    /**
+     * 模拟的单次密码校验耗时
+     */
+    private static final long HASH_MILLIS = 50;
+
+    private static final String PASSWORD = "Passw0rd!";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger hashing = new AtomicInteger();
+
+    private final AtomicInteger peakHashing = new AtomicInteger();
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User("load" + i, "{bcrypt}hash" + i);
+            user.setCreateTime(now);
+            user.setUpdateTime(now);
+            user.setDeleted(0);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class, withSettings().stubOnly());
+        when(passwordHashingService.encode(any())).thenReturn("{bcrypt}dummy");
+        when(passwordHashingService.matches(any(), anyString())).thenAnswer(invocation -> {
+            int current = hashing.incrementAndGet();
+            peakHashing.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(HASH_MILLIS);
+            } finally {
+                hashing.decrementAndGet();
+            }
+            return PASSWORD.contentEquals(invocation.<CharSequence>getArgument(0));
+        });
+
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class, withSettings().stubOnly());
+        when(userDetailsService.toLoginUser(any())).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return new LoginUser(user.getId(), user.getUsername(), user.getStatus(), 0L, Set.of(), Set.of(),
+                    AuthorityBits.EMPTY);
+        });
+        RbacSnapshotService rbacSnapshotService = mock(RbacSnapshotService.class, withSettings().stubOnly());
+        when(rbacSnapshotService.getSnapshot()).thenReturn(RbacSnapshot.build(1L, List.of(), List.of(), null));
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(authService, "jwtUtil", jwtUtil());
+        ReflectionTestUtils.setField(authService, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(authService, "tokenRevocationService",
+                mock(TokenRevocationService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(authService, "lastLoginRecorder",
+                mock(LastLoginRecorder.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(authService, "rbacSnapshotService", rbacSnapshotService);
+        ReflectionTestUtils.setField(authService, "opaqueTokenService",
+                mock(OpaqueTokenService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(authService, "userChangeNotifier",
+                mock(UserChangeNotifier.class, withSettings().stubOnly()));
+        authService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("并发登录 - 事务外校验密码，吞吐量不再受连接数限制")
+    void login_ConcurrentLoad_NotLimitedByPool() throws Exception {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Function<LoginRequest, AuthResponse> current = request -> authService.login(request, "127.0.0.1");
+        Function<LoginRequest, AuthResponse> transactional =
+                request -> transaction.execute(status -> authService.login(request, "127.0.0.1"));
+
+        // When
+        logger.info("{}", String.format("%-24s %8s %12s %16s %14s", "mode", "pool", "logins", "throughput(op/s)",
+                "peak hashing"));
+        double before = run("login in transaction", transactional);
+        int peakBefore = peakHashing.get();
+        double after = run("hash outside tx", current);
+        int peakAfter = peakHashing.get();
+
+        // Then
+        assertThat(peakBefore).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(peakAfter).isGreaterThan(POOL_SIZE);
+        assertThat(after).isGreaterThan(before * 2);
+    }
+
+    /**
+     * @return 每秒成功登录数
+     */
+    private double run(String mode, Function<LoginRequest, AuthResponse> login) throws Exception {
+        peakHashing.set(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start;
+        int succeeded = 0;
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(THREADS);
+            start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    int count = 0;
+                    for (int i = 0; i < LOGINS_PER_THREAD; i++) {
+                        LoginRequest request = new LoginRequest();
+                        request.setUsername("load" + ((thread * LOGINS_PER_THREAD + i) % USER_COUNT));
+                        request.setPassword(PASSWORD);
+                        if (login.apply(request).getAccessToken() != null) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                succeeded += future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        double throughput = succeeded / elapsedSeconds;
+
+        assertThat(succeeded).isEqualTo(THREADS * LOGINS_PER_THREAD);
+        logger.info("{}", String.format("%-24s %8d %12d %16.0f %14d", mode, POOL_SIZE, succeeded, throughput,
+                peakHashing.get()));
+        return throughput;
+    }
+
+    private static JwtUtil jwtUtil() {
+        JwtProperties jwtProperties = new JwtProperties();
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "jwtProperties", jwtProperties);
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        verifiedTokenCache.init();
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtProperties", jwtProperties);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache", verifiedTokenCache);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
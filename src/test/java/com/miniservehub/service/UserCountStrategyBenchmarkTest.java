@@ -0,0 +1,147 @@
+package com.miniservehub.service;
+
+import com.miniservehub.common.page.CountStrategy;
+import com.miniservehub.config.PagingProperties;
+import com.miniservehub.dto.UserDTO;
+import com.miniservehub.repository.UserRepository;
+import com.miniservehub.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分页总数策略基准
+ * 对全部用户与按状态两个列表接口，分别以 EXACT（每次COUNT）、CACHED（按过滤条件缓存的精确总数）、
+ * ESTIMATED（按状态计数快照）、NONE（不返回总数）四种策略查询首页，输出耗时中位数及相对EXACT的比例。
+ * 行数默认 {@value #DEFAULT_ROWS}，可通过 -Dbenchmark.user-rows 调整
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCountStrategyBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCountStrategyBenchmarkTest.class);
+
+    private static final int DEFAULT_ROWS = 200_000;
+
+    private static final int ROWS = Integer.getInteger("benchmark.user-rows", DEFAULT_ROWS);
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int REPEATS = 21;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO sys_user (username, password, email, status, user_type, gender, "
+                + "create_time, update_time, deleted) "
+                + "SELECT 'user' || X, '{bcrypt}hash', 'user' || X || '@example.com', MOD(X, 2), 2, 0, "
+                + "DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00'), "
+                + "DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00'), 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.execute("ANALYZE TABLE sys_user");
+
+        UserCountService userCountService = new UserCountService();
+        ReflectionTestUtils.setField(userCountService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(userCountService, "pagingProperties", new PagingProperties());
+        ReflectionTestUtils.setField(userCountService, "meterRegistry", new SimpleMeterRegistry());
+        userCountService.init();
+
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "userCountService", userCountService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM sys_user");
+    }
+
+    @Test
+    @DisplayName("分页列表 - 缓存、估算与不计总数相对每次COUNT的耗时")
+    void compareCountStrategies() {
+        // Given
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createTime"));
+
+        logger.info("{}", String.format("%10s %-12s %-10s %12s %10s %14s", "rows", "listing", "strategy",
+                "median(ms)", "vs exact", "total"));
+        report("all", strategy -> userService.getUsers(pageable, strategy));
+        Map<CountStrategy, Double> byStatus = report("status=1",
+                strategy -> userService.getUsersByStatus(1, pageable, strategy));
+
+        // Then：按状态过滤的COUNT需扫描索引范围，其余策略省去这次统计
+        double exact = byStatus.get(CountStrategy.EXACT);
+        for (CountStrategy strategy : new CountStrategy[]{CountStrategy.CACHED, CountStrategy.ESTIMATED,
+                CountStrategy.NONE}) {
+            assertThat(byStatus.get(strategy)).as("strategy=%s", strategy).isLessThan(exact * 0.75);
+        }
+    }
+
+    /**
+     * @return 各策略的耗时中位数（毫秒）
+     */
+    private Map<CountStrategy, Double> report(String listing, Function<CountStrategy, Page<UserDTO>> query) {
+        Map<CountStrategy, Double> medians = new EnumMap<>(CountStrategy.class);
+        Page<UserDTO> exactPage = query.apply(CountStrategy.EXACT);
+        for (CountStrategy strategy : CountStrategy.values()) {
+            Page<UserDTO> page = query.apply(strategy);
+            // 四种策略返回同一页数据
+            assertThat(page.getContent()).extracting(UserDTO::getId)
+                    .isEqualTo(exactPage.getContent().stream().map(UserDTO::getId).toList());
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                query.apply(strategy);
+            }
+            long[] nanos = new long[REPEATS];
+            for (int i = 0; i < REPEATS; i++) {
+                long start = System.nanoTime();
+                query.apply(strategy);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            double median = nanos[REPEATS / 2] / 1e6;
+            medians.put(strategy, median);
+
+            double exact = medians.getOrDefault(CountStrategy.EXACT, median);
+            logger.info("{}", String.format("%10d %-12s %-10s %12.2f %9.0f%% %14s", ROWS, listing, strategy, median,
+                    median * 100 / exact, page.getTotalElements() < 0 ? "unknown" : page.getTotalElements()));
+        }
+        return medians;
+    }
+}
@@ -0,0 +1,137 @@
+package com.miniservehub.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 用户导出流式写出测试
+ * 结果集按需逐行生成，不在内存中保存任何行；断言导出过程中输出流持续收到数据，
+ * 未写出的积压始终不超过写缓冲区大小，即内存占用与导出行数无关
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class UserExportServiceTest {
+
+    private static final int ROW_COUNT = 200_000;
+
+    private static final int CHECKPOINT_INTERVAL = 10_000;
+
+    /**
+     * 允许的最大积压：BufferedWriter 64K字符 + OutputStreamWriter编码缓冲 8K字节，加一行余量
+     */
+    private static final long MAX_BACKLOG_BYTES = 64 * 1024 + 8 * 1024 + 1024;
+
+    /**
+     * 固定位数的ID使每行CSV长度相同，便于计算已读行应写出的字节数
+     */
+    private static final long FIRST_ID = 10_000_000L;
+
+    private static final String HEADER = "id,username,realName,email,phone,avatar,gender,birthday,status,"
+            + "userType,lastLoginTime,lastLoginIp,remark,createTime,updateTime\n";
+
+    private final CountingOutputStream out = new CountingOutputStream();
+
+    /**
+     * 每个检查点的 {已读行数, 当时已写出字节数}
+     */
+    private final List<long[]> checkpoints = new ArrayList<>();
+
+    private UserExportService userExportService;
+
+    private long rowsRead;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Timestamp createTime = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 8, 0, 0));
+
+        // 桩对象不记录调用，大量调用下内存不随行数增长
+        ResultSet resultSet = mock(ResultSet.class, withSettings().stubOnly());
+        when(resultSet.next()).thenAnswer(invocation -> {
+            if (rowsRead > 0 && rowsRead % CHECKPOINT_INTERVAL == 0) {
+                checkpoints.add(new long[]{rowsRead, out.count});
+            }
+            return rowsRead++ < ROW_COUNT;
+        });
+        when(resultSet.getLong(1)).thenAnswer(invocation -> FIRST_ID + rowsRead);
+        when(resultSet.getString(anyInt())).thenAnswer(invocation -> switch ((int) invocation.getArgument(0)) {
+            case 2 -> "user" + (FIRST_ID + rowsRead);
+            case 4 -> "user" + (FIRST_ID + rowsRead) + "@example.com";
+            default -> null;
+        });
+        when(resultSet.getObject(anyInt(), eq(Integer.class))).thenReturn(1);
+        when(resultSet.getTimestamp(anyInt())).thenAnswer(invocation ->
+                (int) invocation.getArgument(0) == 11 ? null : createTime);
+
+        PreparedStatement statement = mock(PreparedStatement.class, withSettings().stubOnly());
+        when(statement.executeQuery()).thenReturn(resultSet);
+        Connection connection = mock(Connection.class, withSettings().stubOnly());
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class, withSettings().stubOnly());
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        userExportService = new UserExportService();
+        ReflectionTestUtils.setField(userExportService, "dataSource", dataSource);
+        ReflectionTestUtils.setField(userExportService, "meterRegistry", new SimpleMeterRegistry());
+        userExportService.init();
+    }
+
+    @Test
+    @DisplayName("导出二十万行CSV - 边读边写，积压不超过写缓冲区")
+    void export_LargeResultSet_StreamsWithBoundedBacklog() throws Exception {
+        // When
+        long exported = userExportService.export(UserExportService.FORMAT_CSV, null, null, null, out);
+
+        // Then
+        assertThat(exported).isEqualTo(ROW_COUNT);
+        long rowBytes = (out.count - HEADER.length()) / ROW_COUNT;
+        assertThat(HEADER.length() + rowBytes * ROW_COUNT).isEqualTo(out.count);
+
+        assertThat(checkpoints).hasSize(ROW_COUNT / CHECKPOINT_INTERVAL);
+        for (long[] checkpoint : checkpoints) {
+            long expected = HEADER.length() + checkpoint[0] * rowBytes;
+            assertThat(expected - checkpoint[1])
+                    .as("读取 %d 行时未写出的字节数", checkpoint[0])
+                    .isBetween(0L, MAX_BACKLOG_BYTES);
+        }
+    }
+
+    /**
+     * 只计数不保存内容的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
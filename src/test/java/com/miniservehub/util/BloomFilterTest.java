@@ -0,0 +1,142 @@
+package com.miniservehub.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 布隆过滤器单元测试
+ *
+ * @author MiniServeHub Team
+ * @version 1.0.0
+ */
+class BloomFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 100_000;
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    @Test
+    @DisplayName("添加元素 - 已添加的元素全部判定为可能存在")
+    void mightContain_InsertedValues_NoFalseNegatives() {
+        // Given
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+
+        // When
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.put("user" + i);
+        }
+
+        // Then
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            assertThat(filter.mightContain("user" + i)).as("user%d", i).isTrue();
+        }
+        assertThat(filter.getInsertions()).isEqualTo(EXPECTED_INSERTIONS);
+    }
+
+    @Test
+    @DisplayName("满容量 - 实测误判率接近目标误判率")
+    void mightContain_AbsentValues_FalsePositiveRateNearTarget() {
+        // Given
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.put("user" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        double rate = (double) falsePositives / EXPECTED_INSERTIONS;
+        assertThat(rate).isLessThan(FALSE_POSITIVE_PROBABILITY * 2);
+        assertThat(filter.expectedFalsePositiveProbability()).isLessThan(FALSE_POSITIVE_PROBABILITY * 1.5);
+    }
+
+    @Test
+    @DisplayName("空过滤器 - 任何元素都判定为不存在，估算误判率为0")
+    void mightContain_EmptyFilter_ReturnsFalse() {
+        // Given
+        BloomFilter filter = new BloomFilter(1_000, FALSE_POSITIVE_PROBABILITY);
+
+        // Then
+        assertThat(filter.mightContain("admin")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.expectedFalsePositiveProbability()).isZero();
+    }
+
+    @Test
+    @DisplayName("非ASCII与空字符串 - 按UTF-8字节哈希，添加后可判定存在")
+    void mightContain_NonAsciiAndEmpty_Found() {
+        // Given
+        BloomFilter filter = new BloomFilter(1_000, FALSE_POSITIVE_PROBABILITY);
+
+        // When
+        filter.put("张三");
+        filter.put("");
+
+        // Then
+        assertThat(filter.mightContain("张三")).isTrue();
+        assertThat(filter.mightContain("")).isTrue();
+        assertThat(filter.mightContain("李四")).isFalse();
+    }
+
+    @Test
+    @DisplayName("预期元素数不大于0 - 按1处理，仍可添加和查询")
+    void constructor_NonPositiveExpectedInsertions_ClampedToOne() {
+        // Given
+        BloomFilter filter = new BloomFilter(0, FALSE_POSITIVE_PROBABILITY);
+
+        // When
+        filter.put("admin");
+
+        // Then
+        assertThat(filter.getExpectedInsertions()).isEqualTo(1);
+        assertThat(filter.mightContain("admin")).isTrue();
+    }
+
+    @Test
+    @DisplayName("多线程并发添加 - 不丢失任何位")
+    void put_Concurrent_NoLostUpdates() throws Exception {
+        // Given
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        int threads = 4;
+        int perThread = EXPECTED_INSERTIONS / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + perThread; i++) {
+                        filter.put("user" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(filter.getInsertions()).isEqualTo((long) threads * perThread);
+        for (int i = 0; i < threads * perThread; i++) {
+            assertThat(filter.mightContain("user" + i)).as("user%d", i).isTrue();
+        }
+    }
+}